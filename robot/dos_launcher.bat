@@ -2,4 +2,4 @@ echo off
 mkdir beans
 dir /s /B *.java > sourcefiles
 javac -cp jars\* -s src\ -d beans\ @sourcefiles
-java -cp jars\*;beans\ supportGUI.Viewer
+java -cp beans\;jars\* supportGUI.Viewer
@@ -1,5 +1,5 @@
 #!/bin/bash
 rm beans -rf
 mkdir beans
-javac -cp jars/* -s src/ -d beans/ src/supportGUI/*\.java src/algorithms/*\.java src/characteristics/*\.java
-java -cp jars/*:beans/ supportGUI.Viewer
+javac -cp jars/* -s src/ -d beans/ src/supportGUI/*\.java src/playground/*\.java src/algorithms/*\.java src/characteristics/*\.java src/robotsimulator/*\.java
+java -cp beans/:jars/* supportGUI.Viewer
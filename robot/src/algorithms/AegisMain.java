@@ -84,7 +84,6 @@ public class AegisMain extends Brain {
    public AegisMain() {
       this.teamMemberStates = new HashMap<>();
       this.detectedHostiles = new ArrayList<>();
-      this.randomGenerator = new Random();
       
       ArrayList<Double> initialState = new ArrayList<>(3);
       initialState.add(0.0);
@@ -99,6 +98,7 @@ public class AegisMain extends Brain {
    }
 
    public void activate() {
+      this.randomGenerator = this.getRandom();
       this.performIdentification();
       this.determineSideAssignment();
       this.initializeStartingLocation();
@@ -666,7 +666,7 @@ public class AegisMain extends Brain {
       if (this.simulationTick < this.fallbackInitiatedTick + 25) {
          this.executeBackwardMovement();
       } else {
-         if (Math.random() < 0.5) {
+         if (this.randomGenerator.nextDouble() < 0.5) {
             this.currentOperationMode = OP_MODE_TURN_LEFT;
             this.targetOrientation = this.getHeading() + -1.5707963267948966;
             this.stepTurn(Direction.LEFT);
@@ -35,10 +35,10 @@ public class BootingBerzerk extends Brain {
     berzerkInerty=0;
     berzerkTurning=false;
     back=false;
-    endTaskDirection=(Math.random()-0.5)*0.5*Math.PI;
+    endTaskDirection=(getRandom().nextDouble()-0.5)*0.5*Math.PI;
     turnRight=(endTaskDirection>0);
     endTaskDirection+=getHeading();
-    lastSeenDirection=Math.random()*Math.PI*2;
+    lastSeenDirection=getRandom().nextDouble()*Math.PI*2;
     if (turnRight) stepTurn(Parameters.Direction.RIGHT);
     else stepTurn(Parameters.Direction.LEFT);
     sendLogMessage("Turning point. Waza!");
@@ -92,7 +92,7 @@ public class BootingBerzerk extends Brain {
         turnTask=true;
         moveTask=false;
         berzerk=false;
-        endTaskDirection=(Math.random()-0.5)*2*Math.PI;
+        endTaskDirection=(getRandom().nextDouble()-0.5)*2*Math.PI;
         turnRight=(endTaskDirection>0);
         endTaskDirection+=getHeading();
         if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -187,7 +187,7 @@ public class BootingBerzerk extends Brain {
       if (endTaskCounter<0) {
         turnTask=true;
         moveTask=false;
-        endTaskDirection=(Math.random()-0.5)*2*Math.PI;
+        endTaskDirection=(getRandom().nextDouble()-0.5)*2*Math.PI;
         turnRight=(endTaskDirection>0);
         endTaskDirection+=getHeading();
         if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -202,6 +202,6 @@ public class BootingBerzerk extends Brain {
     return;
   }
   private boolean isHeading(double dir){
-    return Math.abs(Math.sin(getHeading()-dir))<Parameters.teamAMainBotStepTurnAngle;
+    return Math.abs(Math.sin(getHeading()-dir))<getMatchConfig().getTeamAMainBot().getStepTurnAngle();
   }
 }
@@ -55,6 +55,6 @@ public class CampBot extends Brain {
     }
   }
   private boolean isHeading(double dir){
-    return Math.abs(Math.sin(getHeading()-dir))<Parameters.teamBSecondaryBotStepTurnAngle;
+    return Math.abs(Math.sin(getHeading()-dir))<getMatchConfig().getTeamBSecondaryBot().getStepTurnAngle();
   }
 }
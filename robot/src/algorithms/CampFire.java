@@ -21,9 +21,10 @@ public class CampFire extends Brain {
   private static IFrontSensorResult.Types WALL=IFrontSensorResult.Types.WALL;
   private Random gen;
 
-  public CampFire() { super(); gen = new Random(); }
+  public CampFire() { super(); }
 
   public void activate() {
+    gen=getRandom();
     latence=-1;
     turnTask=true;
     endMove=false;
@@ -98,6 +99,6 @@ public class CampFire extends Brain {
 
   }
   private boolean isHeading(double dir) {
-    return Math.abs(Math.sin(getHeading()-dir))<Parameters.teamBSecondaryBotStepTurnAngle;
+    return Math.abs(Math.sin(getHeading()-dir))<getMatchConfig().getTeamBSecondaryBot().getStepTurnAngle();
   }
 }
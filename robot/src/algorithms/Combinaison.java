@@ -41,7 +41,7 @@ public class Combinaison extends Brain {
         switch (fallBackCoveringFireScheme[schemeIndex]){
           case MOVEBACK:
             moveBack();
-            distance+=Parameters.teamAMainBotSpeed;
+            distance+=getMatchConfig().getTeamAMainBot().getSpeed();
             break;
           case FIRE:
             fire(getHeading());
@@ -78,7 +78,7 @@ public class Combinaison extends Brain {
       fallBackCoveringFireTask=true;
       endMoveTask=300;
       moveBack();
-      distance=Parameters.teamAMainBotSpeed;
+      distance=getMatchConfig().getTeamAMainBot().getSpeed();
       schemeIndex=0;
       sendLogMessage("Enemy at 12 o'clock. Fall back covering fire for 30cm!");
       return;
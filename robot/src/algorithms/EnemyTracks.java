@@ -0,0 +1,177 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Enemy positions reported by the team, kept from tick to tick until they go stale.
+ * Tracks are bucketed by a coarse grid over the arena, so a report is merged into the track it duplicates by
+ * looking at the 3x3 cells around it instead of every known track. The first report merged into a track in a tick
+ * moves it there and refreshes its last-seen tick; a later report of the same tick within tolerance of a track
+ * already placed in that tick is dropped, whatever older track it also matches, as the former per-tick list kept
+ * the first report of each enemy; expire() drops the tracks not seen for ttl ticks. Tracks stay in order of first report:
+ * index 0 is the oldest enemy still tracked.
+ */
+final class EnemyTracks {
+   private static final int NONE = -1;
+
+   private final double tolerance;
+   private final double cellSize;
+   private final int columns;
+   private final int rows;
+   private final int ttl;
+   private final int[] cellHead; // first track of each cell, chained through next
+   private double[] type;
+   private double[] x;
+   private double[] y;
+   private int[] lastSeen;
+   private int[] cell;
+   private int[] next;
+   private int size;
+
+   EnemyTracks(double width, double height, double tolerance, int ttl) {
+      this.tolerance = tolerance;
+      this.cellSize = 2.0 * tolerance; // a duplicate lies in the cell of the report or in one next to it
+      this.columns = (int)Math.ceil(width / this.cellSize) + 1;
+      this.rows = (int)Math.ceil(height / this.cellSize) + 1;
+      this.ttl = ttl;
+      this.cellHead = new int[this.columns * this.rows];
+      Arrays.fill(this.cellHead, NONE);
+      this.type = new double[16];
+      this.x = new double[16];
+      this.y = new double[16];
+      this.lastSeen = new int[16];
+      this.cell = new int[16];
+      this.next = new int[16];
+   }
+
+   /** Merges a report into the track within tolerance of it, or starts a new track. */
+   void report(double classification, double reportX, double reportY, int tick) {
+      int track = this.find(reportX, reportY, tick);
+      if (track != NONE && this.lastSeen[track] == tick) return; // already placed by an earlier report of this tick
+      if (track == NONE) {
+         if (this.size == this.x.length) {
+            this.grow();
+         }
+         track = this.size++;
+         this.cell[track] = NONE;
+      }
+      this.type[track] = classification;
+      this.x[track] = reportX;
+      this.y[track] = reportY;
+      this.lastSeen[track] = tick;
+      int newCell = this.cellOf(reportX, reportY);
+      if (newCell != this.cell[track]) {
+         this.unlink(track);
+         this.link(track, newCell);
+      }
+   }
+
+   /** Drops the tracks last seen more than ttl ticks before the given one. */
+   void expire(int tick) {
+      int stale = 0;
+      while (stale < this.size && tick - this.lastSeen[stale] <= this.ttl) {
+         stale++;
+      }
+      if (stale == this.size) return;
+      for (int i = 0; i < this.size; i++) {
+         this.cellHead[this.cell[i]] = NONE;
+      }
+      int kept = stale;
+      for (int i = stale + 1; i < this.size; i++) {
+         if (tick - this.lastSeen[i] > this.ttl) continue;
+         this.type[kept] = this.type[i];
+         this.x[kept] = this.x[i];
+         this.y[kept] = this.y[i];
+         this.lastSeen[kept] = this.lastSeen[i];
+         this.cell[kept] = this.cell[i];
+         kept++;
+      }
+      this.size = kept;
+      for (int i = this.size - 1; i >= 0; i--) {
+         this.next[i] = this.cellHead[this.cell[i]];
+         this.cellHead[this.cell[i]] = i;
+      }
+   }
+
+   void clear() {
+      for (int i = 0; i < this.size; i++) {
+         this.cellHead[this.cell[i]] = NONE;
+      }
+      this.size = 0;
+   }
+
+   int size() { return this.size; }
+   boolean isEmpty() { return this.size == 0; }
+   double getType(int track) { return this.type[track]; }
+   double getX(int track) { return this.x[track]; }
+   double getY(int track) { return this.y[track]; }
+   int getLastSeen(int track) { return this.lastSeen[track]; }
+
+   /** Index of the most recently seen track, the oldest one among equals; NONE (-1) when empty. */
+   int latest() {
+      int latest = NONE;
+      for (int i = 0; i < this.size; i++) {
+         if (latest == NONE || this.lastSeen[i] > this.lastSeen[latest]) {
+            latest = i;
+         }
+      }
+      return latest;
+   }
+
+   // the oldest matching track already placed this tick, which the report duplicates, else the oldest matching track
+   private int find(double reportX, double reportY, int tick) {
+      int column = this.column(reportX);
+      int row = this.row(reportY);
+      int found = NONE;
+      int placed = NONE;
+      for (int r = Math.max(0, row - 1); r <= Math.min(this.rows - 1, row + 1); r++) {
+         for (int c = Math.max(0, column - 1); c <= Math.min(this.columns - 1, column + 1); c++) {
+            for (int i = this.cellHead[r * this.columns + c]; i != NONE; i = this.next[i]) {
+               if (Math.abs(reportX - this.x[i]) > this.tolerance || Math.abs(reportY - this.y[i]) > this.tolerance) continue;
+               if (found == NONE || i < found) {
+                  found = i; // in report order, as a scan of the list would find it
+               }
+               if (this.lastSeen[i] == tick && (placed == NONE || i < placed)) {
+                  placed = i;
+               }
+            }
+         }
+      }
+      return (placed != NONE) ? placed : found;
+   }
+
+   private int column(double value) { return Math.max(0, Math.min(this.columns - 1, (int)(value / this.cellSize))); }
+   private int row(double value) { return Math.max(0, Math.min(this.rows - 1, (int)(value / this.cellSize))); }
+   private int cellOf(double cellX, double cellY) { return this.row(cellY) * this.columns + this.column(cellX); }
+
+   private void link(int track, int newCell) {
+      this.cell[track] = newCell;
+      this.next[track] = this.cellHead[newCell];
+      this.cellHead[newCell] = track;
+   }
+
+   private void unlink(int track) {
+      if (this.cell[track] == NONE) return;
+      int head = this.cellHead[this.cell[track]];
+      if (head == track) {
+         this.cellHead[this.cell[track]] = this.next[track];
+         return;
+      }
+      for (int i = head; i != NONE; i = this.next[i]) {
+         if (this.next[i] == track) {
+            this.next[i] = this.next[track];
+            return;
+         }
+      }
+   }
+
+   private void grow() {
+      int capacity = this.x.length * 2;
+      this.type = Arrays.copyOf(this.type, capacity);
+      this.x = Arrays.copyOf(this.x, capacity);
+      this.y = Arrays.copyOf(this.y, capacity);
+      this.lastSeen = Arrays.copyOf(this.lastSeen, capacity);
+      this.cell = Arrays.copyOf(this.cell, capacity);
+      this.next = Arrays.copyOf(this.next, capacity);
+   }
+}
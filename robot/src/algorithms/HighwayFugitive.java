@@ -6,9 +6,8 @@
  * ******************************************************/
 package algorithms;
 
-import java.util.ArrayList;
-
 import robotsimulator.Brain;
+import robotsimulator.RadarScan;
 import characteristics.Parameters;
 import characteristics.IFrontSensorResult;
 import characteristics.IRadarResult;
@@ -22,6 +21,7 @@ public class HighwayFugitive extends Brain {
   private double endTaskDirection,lastShot;
   private int endTaskCounter;
   private boolean firstMove;
+  private final RadarScan radar = new RadarScan();
 
   //---CONSTRUCTORS---//
   public HighwayFugitive() { super(); }
@@ -33,26 +33,26 @@ public class HighwayFugitive extends Brain {
     firstMove=true;
     highway=false;
     back=false;
-    endTaskDirection=(Math.random()-0.5)*0.5*Math.PI;
+    endTaskDirection=(getRandom().nextDouble()-0.5)*0.5*Math.PI;
     turnRight=(endTaskDirection>0);
     endTaskDirection+=getHeading();
-    lastShot=Math.random()*Math.PI*2;
+    lastShot=getRandom().nextDouble()*Math.PI*2;
     if (turnRight) stepTurn(Parameters.Direction.RIGHT);
     else stepTurn(Parameters.Direction.LEFT);
     sendLogMessage("Turning point. Waza!");
   }
   public void step() {
-    if (Math.random()<0.01) {
-      fire(Math.random()*Math.PI*2);
+    if (getRandom().nextDouble()<0.01) {
+      fire(getRandom().nextDouble()*Math.PI*2);
       return;
     }
-    ArrayList<IRadarResult> radarResults = detectRadar();
+    detectRadar(radar);
     if (highway) {
       if (endTaskCounter<0) {
         turnTask=true;
         moveTask=false;
         highway=false;
-        endTaskDirection=(Math.random()-0.5)*2*Math.PI;
+        endTaskDirection=(getRandom().nextDouble()-0.5)*2*Math.PI;
         turnRight=(endTaskDirection>0);
         endTaskDirection+=getHeading();
         if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -60,11 +60,11 @@ public class HighwayFugitive extends Brain {
         sendLogMessage("Turning point. Waza!");
       } else {
         endTaskCounter--;
-        if (Math.random()<0.1) {
-          for (IRadarResult r : radarResults) {
-            if (r.getObjectType()==IRadarResult.Types.OpponentMainBot) {
-              fire(r.getObjectDirection());
-              lastShot=r.getObjectDirection();
+        if (getRandom().nextDouble()<0.1) {
+          for (int i=0;i<radar.size();i++) {
+            if (radar.getType(i)==IRadarResult.Types.OpponentMainBot) {
+              fire(radar.getDirection(i));
+              lastShot=radar.getDirection(i);
               return;
             }
           }
@@ -76,20 +76,20 @@ public class HighwayFugitive extends Brain {
       }
       return;
     }
-    if (radarResults.size()!=0){
-      for (IRadarResult r : radarResults) {
-        if (r.getObjectType()==IRadarResult.Types.OpponentMainBot) {
+    if (radar.size()!=0){
+      for (int i=0;i<radar.size();i++) {
+        if (radar.getType(i)==IRadarResult.Types.OpponentMainBot) {
           highway=true;
-          back=(Math.cos(getHeading()-r.getObjectDirection())>0);
+          back=(Math.cos(getHeading()-radar.getDirection(i))>0);
           endTaskCounter=400;
-          fire(r.getObjectDirection());
-          lastShot=r.getObjectDirection();
+          fire(radar.getDirection(i));
+          lastShot=radar.getDirection(i);
           return;
         }
       }
-      for (IRadarResult r : radarResults) {
-        if (r.getObjectType()==IRadarResult.Types.OpponentSecondaryBot) {
-          fire(r.getObjectDirection());
+      for (int i=0;i<radar.size();i++) {
+        if (radar.getType(i)==IRadarResult.Types.OpponentSecondaryBot) {
+          fire(radar.getDirection(i));
           return;
         }
       }
@@ -130,7 +130,7 @@ public class HighwayFugitive extends Brain {
       if (endTaskCounter<0) {
         turnTask=true;
         moveTask=false;
-        endTaskDirection=(Math.random()-0.5)*2*Math.PI;
+        endTaskDirection=(getRandom().nextDouble()-0.5)*2*Math.PI;
         turnRight=(endTaskDirection>0);
         endTaskDirection+=getHeading();
         if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -145,6 +145,6 @@ public class HighwayFugitive extends Brain {
     return;
   }
   private boolean isHeading(double dir){
-    return Math.abs(Math.sin(getHeading()-dir))<Parameters.teamAMainBotStepTurnAngle;
+    return Math.abs(Math.sin(getHeading()-dir))<getMatchConfig().getTeamAMainBot().getStepTurnAngle();
   }
 }
@@ -0,0 +1,102 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Friendly-fire check for a shot from the shooter's position: is a team mate in its way?
+ * Everything is done on offsets from the shooter with dot and cross products and squared lengths, no angle is ever
+ * computed, so a shot straight up or down the arena is checked like any other. A team mate is in the way when it is
+ * ahead of the shooter, closer than the end of the shot, and either the bullet's path touches its bounding circle
+ * (the clearance is the body radius plus the bullet radius) or it lies within a cone around the shot.
+ * aim() takes the team mates' offsets once, leaving out those not reported since a given tick; as many shots as needed
+ * are then checked against them, one at a time with isClear(), or a batch of directions in a single pass over the team
+ * with firstClear().
+ */
+final class LineOfFire {
+   static final int NONE = -1;
+
+   private final double clearance2; // squared radius kept clear around each team mate
+   private final double coneCos2; // squared cosine of the cone's half-angle
+   private final double selfRange2; // a team mate this close to the shooter is the shooter's own report
+   private double[] dx = new double[8];
+   private double[] dy = new double[8];
+   private double[] range2 = new double[8];
+   private boolean[] blocked = new boolean[16];
+   private double originX;
+   private double originY;
+   private int size;
+
+   LineOfFire(double clearance, double coneHalfAngle, double selfRange) {
+      this.clearance2 = clearance * clearance;
+      double coneCos = Math.cos(coneHalfAngle);
+      this.coneCos2 = coneCos * coneCos;
+      this.selfRange2 = selfRange * selfRange;
+   }
+
+   /**
+    * Takes the shooter's position and the positions of the team mates reported at or after tick since for the checks
+    * that follow. A team mate never reported, or silent since then (destroyed, out of touch), is not where its slot says.
+    */
+   void aim(double fromX, double fromY, TeamTable team, int since) {
+      this.originX = fromX;
+      this.originY = fromY;
+      this.size = 0;
+      if (this.dx.length < team.size()) {
+         this.dx = new double[team.size()];
+         this.dy = new double[team.size()];
+         this.range2 = new double[team.size()];
+      }
+      for (int slot = 0; slot < team.size(); slot++) {
+         if (!team.isCurrent(slot, since)) continue;
+         double offsetX = team.getX(slot) - fromX;
+         double offsetY = team.getY(slot) - fromY;
+         double squared = offsetX * offsetX + offsetY * offsetY;
+         if (squared <= this.selfRange2) continue;
+         this.dx[this.size] = offsetX;
+         this.dy[this.size] = offsetY;
+         this.range2[this.size] = squared;
+         this.size++;
+      }
+   }
+
+   /** Whether a shot from the aimed position to the given point is clear of every team mate. */
+   boolean isClear(double toX, double toY) {
+      double shotX = toX - this.originX;
+      double shotY = toY - this.originY;
+      double length2 = shotX * shotX + shotY * shotY;
+      for (int mate = 0; mate < this.size; mate++) {
+         if (this.blocks(mate, shotX, shotY, length2)) return false;
+      }
+      return true;
+   }
+
+   /**
+    * Index of the first of count unit directions whose shot over the given range is clear of every team mate,
+    * NONE when all of them are blocked. Each team mate is read once for the whole batch.
+    */
+   int firstClear(double[] directionX, double[] directionY, int count, double range) {
+      if (this.blocked.length < count) {
+         this.blocked = new boolean[count];
+      }
+      Arrays.fill(this.blocked, 0, count, false);
+      double length2 = range * range;
+      for (int mate = 0; mate < this.size; mate++) {
+         for (int shot = 0; shot < count; shot++) {
+            if (!this.blocked[shot] && this.blocks(mate, directionX[shot] * range, directionY[shot] * range, length2)) {
+               this.blocked[shot] = true;
+            }
+         }
+      }
+      for (int shot = 0; shot < count; shot++) {
+         if (!this.blocked[shot]) return shot;
+      }
+      return NONE;
+   }
+
+   private boolean blocks(int mate, double shotX, double shotY, double length2) {
+      double dot = this.dx[mate] * shotX + this.dy[mate] * shotY;
+      if (dot <= 0.0 || this.range2[mate] >= length2) return false; // behind the shooter, or past the end of the shot
+      double cross = this.dx[mate] * shotY - this.dy[mate] * shotX; // |shot| times the team mate's distance to the path
+      return cross * cross <= this.clearance2 * length2 || dot * dot > this.coneCos2 * this.range2[mate] * length2;
+   }
+}
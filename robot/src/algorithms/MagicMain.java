@@ -1,12 +1,13 @@
 package algorithms;
 
 import characteristics.IRadarResult;
+import characteristics.MatchConfig;
 import characteristics.IFrontSensorResult.Types;
 import characteristics.Parameters.Direction;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Random;
 import robotsimulator.Brain;
+import robotsimulator.RadarScan;
+import robotsimulator.TeamInbox;
 
 /**
  * Advanced combat robot with multi-agent coordination capabilities
@@ -22,11 +23,15 @@ public class MagicMain extends Brain {
    private static final int BOT_ID_MAIN_C = 819;
    private static final int BROADCAST_TEAM_ID = 12246445;
    
-   // Communication protocol codes
-   private static final int MSG_ENEMY_SPOTTED = 2898;
-   private static final int MSG_POSITION_SYNC = 32343;
-   private static final int MSG_TERMINATOR = -1073737473;
-   private static final double ENEMY_TYPE_PRIMARY = -1.431633921E9;
+   // Communication protocol codes (typed message kinds, shared with MagicSecondary)
+   static final int MSG_ENEMY_SPOTTED = 2898;
+   static final int MSG_POSITION_SYNC = 32343;
+   static final int MSG_SIDE_SYNC = 663121;
+   static final int MSG_SCOUT_POSITION = 40961; // MagicSecondary: tick, x, y, heading
+   static final int MSG_SCOUT_ENEMY = 40962; // MagicSecondary: tick, x, y, radius
+   static final String TEXT_SCOUT_POSITION = "POS"; // text forms of the scout kinds, read by String-only mains (AegisMain...)
+   static final String TEXT_SCOUT_ENEMY = "ENEMY";
+   static final double ENEMY_TYPE_PRIMARY = -1.431633921E9;
    private static final double ENEMY_TYPE_SECONDARY = -21846.0;
    
    // Operational modes
@@ -48,7 +53,10 @@ public class MagicMain extends Brain {
    private static final double ANGLE_MATCH_TIGHT = 0.001;
    private static final double ANGLE_MATCH_LOOSE = 0.01;
    private static final double POSITION_MATCH_TOLERANCE = 10.0;
-   private static final double TRAJECTORY_CLEARANCE = 125.0;
+   private static final double FRIENDLY_FIRE_CONE = 0.2617993877991494; // half-angle around a shot kept clear of closer team mates
+   private static final int SHOT_ATTEMPTS = 10; // random firing angles tried on the move
+   private static final int TRACK_TTL = 80; // ticks an enemy track is kept without a new report
+   private static final int TEAMMATE_TTL = 50; // ticks a team mate's position is trusted without a new report
    
    // Robot state - Position
    private double myPositionX;
@@ -74,31 +82,33 @@ public class MagicMain extends Brain {
    private String huntingDirection;
    
    // Team coordination data
-   private HashMap<Integer, ArrayList<Double>> teamMemberStates;
-   private ArrayList<ArrayList<Double>> detectedHostiles;
+   private TeamTable teamMemberStates;
+   private EnemyTracks detectedHostiles; // remembered across ticks; only this tick's reports are fired at
    
    // Utility objects
    private Random randomGenerator;
    private int continuousCounter;
+   private final RadarScan radarScan = new RadarScan();
+   private final TargetSelector targetSelector = new TargetSelector();
+   private LineOfFire lineOfFire; // sized in activate() from the bots and bullets of the match
+   private final double[] shotDirectionX = new double[SHOT_ATTEMPTS];
+   private final double[] shotDirectionY = new double[SHOT_ATTEMPTS];
 
    public MagicMain() {
-      this.teamMemberStates = new HashMap<>();
-      this.detectedHostiles = new ArrayList<>();
-      this.randomGenerator = new Random();
-      
-      ArrayList<Double> initialState = new ArrayList<>(3);
-      initialState.add(0.0);
-      initialState.add(0.0);
-      initialState.add(0.0);
-      
-      this.teamMemberStates.put(BOT_ID_MAIN_A, new ArrayList<>(initialState));
-      this.teamMemberStates.put(BOT_ID_MAIN_B, new ArrayList<>(initialState));
-      this.teamMemberStates.put(BOT_ID_MAIN_C, new ArrayList<>(initialState));
-      this.teamMemberStates.put(BOT_ID_SCOUT_A, new ArrayList<>(initialState));
-      this.teamMemberStates.put(BOT_ID_SCOUT_B, new ArrayList<>(initialState));
+      this.teamMemberStates = new TeamTable(BOT_ID_MAIN_A, BOT_ID_MAIN_B, BOT_ID_MAIN_C, BOT_ID_SCOUT_A, BOT_ID_SCOUT_B);
    }
 
    public void activate() {
+      this.randomGenerator = this.getRandom();
+      MatchConfig config = this.getMatchConfig();
+      // a team mate blocks a shot passing within its body radius plus the bullet's, whichever team this is
+      double teammateRadius = Math.max(Math.max(config.getTeamAMainBot().getRadius(), config.getTeamASecondaryBot().getRadius()),
+                                       Math.max(config.getTeamBMainBot().getRadius(), config.getTeamBSecondaryBot().getRadius()));
+      this.lineOfFire = new LineOfFire(teammateRadius + config.getBulletRadius(), FRIENDLY_FIRE_CONE, POSITION_MATCH_TOLERANCE);
+      this.detectedHostiles = new EnemyTracks(config.getArenaWidth(), config.getArenaHeight(), POSITION_MATCH_TOLERANCE, TRACK_TTL);
+      // the Swing engine carries the scouts' reports as their text forms: declared here too, to read them back as records
+      this.declareTextForm(MSG_SCOUT_POSITION, TEXT_SCOUT_POSITION);
+      this.declareTextForm(MSG_SCOUT_ENEMY, TEXT_SCOUT_ENEMY);
       this.performIdentification();
       this.determineSideAssignment();
       this.initializeStartingLocation();
@@ -132,7 +142,7 @@ public class MagicMain extends Brain {
          double bearing = radarContact.getObjectDirection();
          if (bearing > 1.7278759594743864 && bearing < 4.5553093477052) {
             this.isWestTeam = false;
-            this.broadcast("663121:663121:663121:663121:663121:663121:663121");
+            this.broadcast(MSG_SIDE_SYNC, MSG_SIDE_SYNC, 0.0, 0.0, 0.0, 0.0);
             break;
          }
       }
@@ -180,7 +190,7 @@ public class MagicMain extends Brain {
    }
 
   public void step() {
-      ArrayList<String> receivedMessages = this.fetchAllMessages();
+      TeamInbox receivedMessages = this.fetchTeamMessages();
       
       this.processInitialTeamSync(receivedMessages);
       this.simulationTick++;
@@ -202,11 +212,10 @@ public class MagicMain extends Brain {
       this.executeMainBehavior(receivedMessages);
    }
 
-   private void processInitialTeamSync(ArrayList<String> messages) {
+   private void processInitialTeamSync(TeamInbox messages) {
       if (this.simulationTick == 0 && this.myIdentifier == BOT_ID_MAIN_B) {
-         for (String message : messages) {
-            String[] components = message.split(":");
-            if (components.length > 0 && Integer.parseInt(components[0]) == 663121) {
+         for (int i = 0; i < messages.size(); i++) {
+            if (messages.getKind(i) == MSG_SIDE_SYNC) {
                this.isWestTeam = false;
                this.myPositionX = 2800.0;
                this.myPositionY = 1000.0;
@@ -243,18 +252,15 @@ public class MagicMain extends Brain {
 
    private void outputTelemetry() {
       if (this.myIdentifier == BOT_ID_MAIN_A && this.currentOperationMode != OP_MODE_DESTROYED) {
-         int orientationDegrees = (int)(this.getOrientationNormalized() * 180.0 / Math.PI);
-         this.sendLogMessage("[Unit-A] Position: (" + (int)this.myPositionX + "," + (int)this.myPositionY + ") | Heading: " + orientationDegrees + "° | Mode: " + this.currentOperationMode);
+         this.sendTelemetry("[Unit-A]");
       }
 
       if (this.myIdentifier == BOT_ID_MAIN_B && this.currentOperationMode != OP_MODE_DESTROYED) {
-         int orientationDegrees = (int)(this.getOrientationNormalized() * 180.0 / Math.PI);
-         this.sendLogMessage("[Unit-B] Position: (" + (int)this.myPositionX + "," + (int)this.myPositionY + ") | Heading: " + orientationDegrees + "° | Mode: " + this.currentOperationMode);
+         this.sendTelemetry("[Unit-B]");
       }
 
       if (this.myIdentifier == BOT_ID_MAIN_C && this.currentOperationMode != OP_MODE_DESTROYED) {
-         int orientationDegrees = (int)(this.getOrientationNormalized() * 180.0 / Math.PI);
-         this.sendLogMessage("[Unit-C] Position: (" + (int)this.myPositionX + "," + (int)this.myPositionY + ") | Heading: " + orientationDegrees + "° | Mode: " + this.currentOperationMode);
+         this.sendTelemetry("[Unit-C]");
       }
 
       if (this.engagementActive) {
@@ -263,25 +269,46 @@ public class MagicMain extends Brain {
       }
    }
 
-   private void executeMainBehavior(ArrayList<String> messages) {
-      this.detectedHostiles.clear();
+   private void sendTelemetry(final String unit) {
+      final int positionX = (int)this.myPositionX, positionY = (int)this.myPositionY, mode = this.currentOperationMode;
+      final int orientationDegrees = (int)(this.getOrientationNormalized() * 180.0 / Math.PI);
+      this.sendLogMessage(() -> unit + " Position: (" + positionX + "," + positionY + ") | Heading: " + orientationDegrees + "° | Mode: " + mode);
+   }
+
+   private void executeMainBehavior(TeamInbox messages) {
+      this.detectedHostiles.expire(this.simulationTick);
       
-      for (String message : messages) {
-         // Handle new format (pipe-separated) messages
-         if (message.contains("|")) {
-            this.interpretMessage(message);
-         } else {
-            // Handle old format (colon-separated) messages
-            String[] components = message.split(":");
-            if (components.length > 2) {
-               try {
-                  int messageRecipient = Integer.parseInt(components[1]);
-                  if (messageRecipient == this.myIdentifier || messageRecipient == BROADCAST_TEAM_ID) {
-                     this.interpretMessage(message);
-                  }
-               } catch (NumberFormatException ignored) {
-                  // Skip malformed messages
+      for (int i = 0; i < messages.size(); i++) {
+         int kind = messages.getKind(i);
+         if (kind == MSG_ENEMY_SPOTTED) {
+            this.registerHostileContact(messages.getField(i, 0), messages.getField(i, 1), messages.getField(i, 2));
+            continue;
+         }
+         if (kind == MSG_POSITION_SYNC) {
+            this.updateTeamMemberPosition(messages.getSender(i), messages.getField(i, 0), messages.getField(i, 1), messages.getField(i, 2));
+            continue;
+         }
+         if (kind == MSG_SCOUT_ENEMY) {
+            this.registerHostileContact(ENEMY_TYPE_PRIMARY, messages.getField(i, 1), messages.getField(i, 2));
+            continue;
+         }
+         if (kind == MSG_SCOUT_POSITION) {
+            this.updateTeamMemberPosition(messages.getSender(i), messages.getField(i, 1), messages.getField(i, 2), messages.getField(i, 3));
+            continue;
+         }
+         if (kind != TeamInbox.TEXT) continue;
+         
+         // String broadcasts from brains not using typed messages: "id:teamId:msgType:data..."
+         String message = messages.getText(i);
+         String[] components = message.split(":");
+         if (components.length > 2) {
+            try {
+               int messageRecipient = Integer.parseInt(components[1]);
+               if (messageRecipient == this.myIdentifier || messageRecipient == BROADCAST_TEAM_ID) {
+                  this.interpretMessage(components);
                }
+            } catch (NumberFormatException ignored) {
+               // Skip malformed messages
             }
          }
       }
@@ -291,29 +318,28 @@ public class MagicMain extends Brain {
    }
 
    private void broadcastMyPosition() {
-      String positionMessage = this.myIdentifier + ":" + BROADCAST_TEAM_ID + ":" + MSG_POSITION_SYNC + ":" + 
-                   this.myPositionX + ":" + this.myPositionY + ":" + this.getHeading() + ":" + MSG_TERMINATOR;
-      this.broadcast(positionMessage);
+      this.broadcast(MSG_POSITION_SYNC, this.myIdentifier, this.myPositionX, this.myPositionY, this.getHeading(), 0.0);
    }
 
    private void scanAndReact() {
       boolean immediateThreat = false;
       
-      for (IRadarResult contact : this.detectRadar()) {
-         if (contact.getObjectType() == characteristics.IRadarResult.Types.OpponentMainBot || 
-             contact.getObjectType() == characteristics.IRadarResult.Types.OpponentSecondaryBot) {
-            double hostileX = this.myPositionX + contact.getObjectDistance() * Math.cos(contact.getObjectDirection());
-            double hostileY = this.myPositionY + contact.getObjectDistance() * Math.sin(contact.getObjectDirection());
+      this.detectRadar(this.radarScan);
+      for (int contact = 0; contact < this.radarScan.size(); contact++) {
+         IRadarResult.Types contactType = this.radarScan.getType(contact);
+         double contactDistance = this.radarScan.getDistance(contact);
+         if (contactType == IRadarResult.Types.OpponentMainBot || 
+             contactType == IRadarResult.Types.OpponentSecondaryBot) {
+            double hostileX = this.myPositionX + contactDistance * Math.cos(this.radarScan.getDirection(contact));
+            double hostileY = this.myPositionY + contactDistance * Math.sin(this.radarScan.getDirection(contact));
             
-            double hostileClassification = (contact.getObjectType() == characteristics.IRadarResult.Types.OpponentMainBot) ? 
+            double hostileClassification = (contactType == IRadarResult.Types.OpponentMainBot) ? 
                               ENEMY_TYPE_PRIMARY : ENEMY_TYPE_SECONDARY;
             
-            String enemyAlert = this.myIdentifier + ":" + BROADCAST_TEAM_ID + ":" + MSG_ENEMY_SPOTTED + ":" + 
-                        hostileClassification + ":" + hostileX + ":" + hostileY + ":" + MSG_TERMINATOR;
-            this.broadcast(enemyAlert);
+            this.broadcast(MSG_ENEMY_SPOTTED, this.myIdentifier, hostileClassification, hostileX, hostileY, 0.0);
          }
          
-         if (contact.getObjectDistance() < 120.0 && contact.getObjectType() != characteristics.IRadarResult.Types.BULLET && 
+         if (contactDistance < 120.0 && contactType != IRadarResult.Types.BULLET && 
              this.currentOperationMode == OP_MODE_MOVING) {
             immediateThreat = true;
          }
@@ -351,104 +377,26 @@ public class MagicMain extends Brain {
       }
    }
 
-   private void interpretMessage(String message) {
-      // Support both old format (colon-separated) and new format (pipe-separated)
-      if (message.contains("|")) {
-         // New format from MagicSecondary: "POS|id|tick|x|y|heading" or "ENEMY|id|tick|x|y|radius"
-         this.parseNewFormatMessage(message);
-      } else {
-         // Old format: "id:teamId:msgType:data..."
-         String[] components = message.split(":");
-         if (components.length < 6) return;
-         
-         int messageCategory = Integer.parseInt(components[2]);
-         
-         if (messageCategory == MSG_ENEMY_SPOTTED) {
-            this.registerHostileContact(components);
-         } else if (messageCategory == MSG_POSITION_SYNC) {
-            this.updateTeamMemberPosition(components);
-         }
-      }
-   }
-
-   private void parseNewFormatMessage(String message) {
-      try {
-         String[] parts = message.split("\\|");
-         if (parts.length < 4) return;
-         
-         String msgType = parts[0];
-         
-         if ("ENEMY".equals(msgType) && parts.length >= 6) {
-            // ENEMY|id|tick|x|y|radius
-            double x = Double.parseDouble(parts[3]);
-            double y = Double.parseDouble(parts[4]);
-            
-            boolean alreadyKnown = false;
-            for (ArrayList<Double> hostile : this.detectedHostiles) {
-               if (Math.abs(x - hostile.get(1)) <= POSITION_MATCH_TOLERANCE && 
-                   Math.abs(y - hostile.get(2)) <= POSITION_MATCH_TOLERANCE) {
-                  alreadyKnown = true;
-                  break;
-               }
-            }
-            
-            if (!alreadyKnown) {
-               ArrayList<Double> newHostile = new ArrayList<>(3);
-               newHostile.add(ENEMY_TYPE_PRIMARY);  // Default type
-               newHostile.add(x);
-               newHostile.add(y);
-               this.detectedHostiles.add(newHostile);
-            }
-            
-            this.engagementActive = true;
-         } else if ("POS".equals(msgType) && parts.length >= 6) {
-            // POS|id|tick|x|y|heading
-            String senderId = parts[1];
-            // Extract numeric ID from string like "SCOUT_XXXX" or "MAIN_XXXX"
-            int numericId = senderId.hashCode();  // Use hashCode as numeric ID
-            
-            ArrayList<Double> memberState = new ArrayList<>(3);
-            memberState.add(Double.parseDouble(parts[3]));  // x
-            memberState.add(Double.parseDouble(parts[4]));  // y
-            memberState.add(Double.parseDouble(parts[5]));  // heading
-            this.teamMemberStates.put(numericId, memberState);
-         }
-      } catch (Throwable ignored) {
-         // Ignore malformed messages
-      }
-   }
-
-   private void registerHostileContact(String[] components) {
-      double x = Double.parseDouble(components[4]);
-      double y = Double.parseDouble(components[5]);
+   private void interpretMessage(String[] components) {
+      if (components.length < 6) return;
       
-      boolean alreadyKnown = false;
-      for (ArrayList<Double> hostile : this.detectedHostiles) {
-         if (Math.abs(x - hostile.get(1)) <= POSITION_MATCH_TOLERANCE && 
-             Math.abs(y - hostile.get(2)) <= POSITION_MATCH_TOLERANCE) {
-            alreadyKnown = true;
-            break;
-         }
-      }
+      int messageCategory = Integer.parseInt(components[2]);
       
-      if (!alreadyKnown) {
-         ArrayList<Double> newHostile = new ArrayList<>(3);
-         newHostile.add(Double.parseDouble(components[3]));
-         newHostile.add(x);
-         newHostile.add(y);
-         this.detectedHostiles.add(newHostile);
+      if (messageCategory == MSG_ENEMY_SPOTTED) {
+         this.registerHostileContact(Double.parseDouble(components[3]), Double.parseDouble(components[4]), Double.parseDouble(components[5]));
+      } else if (messageCategory == MSG_POSITION_SYNC) {
+         this.updateTeamMemberPosition(Integer.parseInt(components[0]), Double.parseDouble(components[3]),
+                                       Double.parseDouble(components[4]), Double.parseDouble(components[5]));
       }
-      
+   }
+
+   private void registerHostileContact(double classification, double x, double y) {
+      this.detectedHostiles.report(classification, x, y, this.simulationTick);
       this.engagementActive = true;
    }
 
-   private void updateTeamMemberPosition(String[] components) {
-      int senderId = Integer.parseInt(components[0]);
-      ArrayList<Double> memberState = new ArrayList<>(3);
-      memberState.add(Double.parseDouble(components[3]));
-      memberState.add(Double.parseDouble(components[4]));
-      memberState.add(Double.parseDouble(components[5]));
-      this.teamMemberStates.put(senderId, memberState);
+   private void updateTeamMemberPosition(int senderId, double x, double y, double heading) {
+      this.teamMemberStates.update(senderId, x, y, heading, this.simulationTick);
    }
 
    private void handleArenaLimits() {
@@ -493,9 +441,8 @@ public class MagicMain extends Brain {
    private void evaluateHuntingMode() {
       if (!this.engagementActive && this.simulationTick > 6000 && !this.detectedHostiles.isEmpty() && 
           this.currentOperationMode != OP_MODE_HUNTING) {
-         ArrayList<Double> priorityHostile = this.detectedHostiles.get(0);
-         double targetX = priorityHostile.get(1);
-         double targetY = priorityHostile.get(2);
+         double targetX = this.detectedHostiles.getX(this.detectedHostiles.latest());
+         double targetY = this.detectedHostiles.getY(this.detectedHostiles.latest());
          double deltaX = Math.abs(targetX - this.myPositionX);
          double deltaY = Math.abs(targetY - this.myPositionY);
          
@@ -530,8 +477,7 @@ public class MagicMain extends Brain {
    }
 
    private void huntAlongXAxis() {
-      ArrayList<Double> hostile = this.detectedHostiles.get(0);
-      double targetX = hostile.get(1);
+      double targetX = this.detectedHostiles.getX(this.detectedHostiles.latest());
       double separation = Math.abs(targetX - this.myPositionX);
       
       if (separation < 200.0) {
@@ -556,8 +502,7 @@ public class MagicMain extends Brain {
    }
 
    private void huntAlongYAxis() {
-      ArrayList<Double> hostile = this.detectedHostiles.get(0);
-      double targetY = hostile.get(2);
+      double targetY = this.detectedHostiles.getY(this.detectedHostiles.latest());
       double separation = Math.abs(targetY - this.myPositionY);
       
       if (separation < 200.0) {
@@ -622,15 +567,19 @@ public class MagicMain extends Brain {
       }
       
       if (this.canInitiateFire()) {
-         for (int attempt = 0; attempt < 10; attempt++) {
+         double orientation = this.getOrientationNormalized();
+         for (int attempt = 0; attempt < SHOT_ATTEMPTS; attempt++) {
             double randomOffset = this.randomGenerator.nextDouble() * Math.PI / 6.0 - 0.2617993877991494;
-            double testX = this.myPositionX + 1000.0 * Math.cos(this.getOrientationNormalized() + randomOffset);
-            double testY = this.myPositionY + 1000.0 * Math.sin(this.getOrientationNormalized() + randomOffset);
-            if (this.verifyFireSafety(testX, testY)) {
-               this.engageTarget(testX, testY);
-               this.previousShotTick = this.simulationTick;
-               return;
-            }
+            this.shotDirectionX[attempt] = Math.cos(orientation + randomOffset);
+            this.shotDirectionY[attempt] = Math.sin(orientation + randomOffset);
+         }
+         // every attempt checked against the team in one pass, the first clear one is fired
+         this.lineOfFire.aim(this.myPositionX, this.myPositionY, this.teamMemberStates, this.simulationTick - TEAMMATE_TTL);
+         int shot = this.isFrontClear() ? this.lineOfFire.firstClear(this.shotDirectionX, this.shotDirectionY, SHOT_ATTEMPTS, 1000.0) : LineOfFire.NONE;
+         if (shot != LineOfFire.NONE) {
+            this.engageTarget(this.myPositionX + 1000.0 * this.shotDirectionX[shot], this.myPositionY + 1000.0 * this.shotDirectionY[shot]);
+            this.previousShotTick = this.simulationTick;
+            return;
          }
       }
       this.executeForwardMovement();
@@ -666,7 +615,7 @@ public class MagicMain extends Brain {
       if (this.simulationTick < this.fallbackInitiatedTick + 25) {
          this.executeBackwardMovement();
       } else {
-         if (Math.random() < 0.5) {
+         if (this.randomGenerator.nextDouble() < 0.5) {
             this.currentOperationMode = OP_MODE_TURN_LEFT;
             this.targetOrientation = this.getHeading() + -1.5707963267948966;
             this.stepTurn(Direction.LEFT);
@@ -728,25 +677,21 @@ public class MagicMain extends Brain {
    }
 
    private void prioritizeTarget() {
-      ArrayList<ArrayList<Double>> viableTargets = new ArrayList<>();
+      this.targetSelector.clear();
       
-      for (ArrayList<Double> hostile : this.detectedHostiles) {
-         double range = this.measureDistance(this.myPositionX, this.myPositionY, hostile.get(1), hostile.get(2));
+      for (int hostile = 0; hostile < this.detectedHostiles.size(); hostile++) {
+         if (this.detectedHostiles.getLastSeen(hostile) != this.simulationTick) continue; // a remembered position is no firing solution
+         double range = this.measureDistance(this.myPositionX, this.myPositionY, this.detectedHostiles.getX(hostile), this.detectedHostiles.getY(hostile));
          if (range <= 1000.0) {
-            viableTargets.add(hostile);
+            this.targetSelector.add(hostile, range);
          }
       }
       
-      viableTargets.sort((h1, h2) -> {
-         double r1 = this.measureDistance(this.myPositionX, this.myPositionY, h1.get(1), h1.get(2));
-         double r2 = this.measureDistance(this.myPositionX, this.myPositionY, h2.get(1), h2.get(2));
-         return Double.compare(r1, r2);
-      });
-      
-      for (ArrayList<Double> hostile : viableTargets) {
-         if (this.verifyFireSafety(hostile.get(1), hostile.get(2))) {
-            this.lockedTargetX = hostile.get(1);
-            this.lockedTargetY = hostile.get(2);
+      // closest first, fire safety checked only until a safe target turns up
+      for (int hostile = this.targetSelector.next(); hostile != TargetSelector.NONE; hostile = this.targetSelector.next()) {
+         if (this.verifyFireSafety(this.detectedHostiles.getX(hostile), this.detectedHostiles.getY(hostile))) {
+            this.lockedTargetX = this.detectedHostiles.getX(hostile);
+            this.lockedTargetY = this.detectedHostiles.getY(hostile);
             
             double range = this.measureDistance(this.myPositionX, this.myPositionY, this.lockedTargetX, this.lockedTargetY);
             this.currentOperationMode = (range > 600.0) ? OP_MODE_STATIC_FIRE : OP_MODE_MOBILE_FIRE;
@@ -768,48 +713,28 @@ public class MagicMain extends Brain {
    }
 
    private boolean verifyFireSafety(double x, double y) {
-      double trajectorySlope = (y - this.myPositionY) / (x - this.myPositionX);
-      double trajectoryIntercept = this.myPositionY - trajectorySlope * this.myPositionX;
-      
-      for (ArrayList<Double> teammate : this.teamMemberStates.values()) {
-         double teammateX = teammate.get(0);
-         double teammateY = teammate.get(1);
-         
-         if (this.measureDistance(this.myPositionX, this.myPositionY, teammateX, teammateY) <= 10.0) {
+      this.lineOfFire.aim(this.myPositionX, this.myPositionY, this.teamMemberStates, this.simulationTick - TEAMMATE_TTL);
+      return this.lineOfFire.isClear(x, y) && this.isFrontClear();
+   }
+
+   // No team mate right ahead of the body: in the strip along an axis-aligned heading, or touching the front sensor
+   private boolean isFrontClear() {
+      double orientation = this.getHeading();
+      for (int teammate = 0; teammate < this.teamMemberStates.size(); teammate++) {
+         if (!this.teamMemberStates.isCurrent(teammate, this.simulationTick - TEAMMATE_TTL)) {
             continue;
          }
-         
-         double angleToTeammate = this.calculateBearingTo(teammateX, teammateY);
-         double angleToTarget = this.calculateBearingTo(x, y);
-         
-         if (Math.abs(angleToTeammate - angleToTarget) < 0.2617993877991494 && 
-             this.measureDistance(this.myPositionX, this.myPositionY, teammateX, teammateY) < 
-             this.measureDistance(this.myPositionX, this.myPositionY, x, y)) {
-            return false;
+         double offsetX = this.teamMemberStates.getX(teammate) - this.myPositionX;
+         double offsetY = this.teamMemberStates.getY(teammate) - this.myPositionY;
+         if (offsetX * offsetX + offsetY * offsetY <= POSITION_MATCH_TOLERANCE * POSITION_MATCH_TOLERANCE) {
+            continue;
          }
-         
-         double orientation = this.getHeading();
-         if ((orientation == 0.0 && Math.abs(teammateY - this.myPositionY) < 15.0 && teammateX > this.myPositionX) ||
-             (orientation == Math.PI && Math.abs(teammateY - this.myPositionY) < 15.0 && teammateX < this.myPositionX) ||
-             (orientation == 1.5707963267948966 && Math.abs(teammateX - this.myPositionX) < 15.0 && teammateY > this.myPositionY) ||
-             (orientation == -1.5707963267948966 && Math.abs(teammateX - this.myPositionX) < 15.0 && teammateY < this.myPositionY)) {
+         if ((orientation == 0.0 && Math.abs(offsetY) < 15.0 && offsetX > 0.0) ||
+             (orientation == Math.PI && Math.abs(offsetY) < 15.0 && offsetX < 0.0) ||
+             (orientation == 1.5707963267948966 && Math.abs(offsetX) < 15.0 && offsetY > 0.0) ||
+             (orientation == -1.5707963267948966 && Math.abs(offsetX) < 15.0 && offsetY < 0.0)) {
             return false;
          }
-         
-         double teammateSlope = Math.tan(teammate.get(2));
-         double teammateIntercept = teammateY - teammateSlope * teammateX;
-         double crossingX = (trajectoryIntercept - teammateIntercept) / (teammateSlope - trajectorySlope);
-         double crossingY = trajectorySlope * crossingX + trajectoryIntercept;
-         
-         if (this.measureDistance(teammateX, teammateY, crossingX, crossingY) <= TRAJECTORY_CLEARANCE) {
-            boolean xWithinRange = (x >= crossingX && crossingX >= this.myPositionX) || 
-                             (x <= crossingX && crossingX <= this.myPositionX);
-            boolean yWithinRange = (y >= crossingY && crossingY >= this.myPositionY) || 
-                             (y <= crossingY && crossingY <= this.myPositionY);
-            if (xWithinRange && yWithinRange) {
-               return false;
-            }
-         }
       }
       
       Types obstacleAhead = this.detectFront().getObjectType();
@@ -822,10 +747,6 @@ public class MagicMain extends Brain {
       return Math.sqrt(dx * dx + dy * dy);
    }
 
-   private double calculateBearingTo(double x, double y) {
-      return this.convertAngleToStandard(Math.atan2(y - this.myPositionY, x - this.myPositionX));
-   }
-
    private double convertAngleToStandard(double angle) {
       while (angle < 0.0) {
          angle += 6.283185307179586;
@@ -2,7 +2,9 @@ package algorithms;
 
 import java.util.*;
 import robotsimulator.Brain;
+import robotsimulator.RadarScan;
 import characteristics.Parameters;
+import characteristics.MatchConfig;
 import characteristics.IFrontSensorResult;
 import characteristics.IRadarResult;
 
@@ -20,10 +22,11 @@ public class MagicSecondary extends Brain {
   private static final double PI = Math.PI;
   private static final double HALF_PI = Math.PI / 2.0;
   
-  private static final double FIELD_WIDTH = 3000.0;
-  private static final double FIELD_HEIGHT = 2000.0;
-  private static final double SECONDARY_BOT_SPEED = Parameters.teamASecondaryBotSpeed;  // 3
-  private static final double BULLET_RANGE = Parameters.bulletRange;  // 1000
+  // 场地与速度参数，activate() 时从比赛配置读取（默认 3000 x 2000，速度 3，射程 1000）
+  private double fieldWidth = 3000.0;
+  private double fieldHeight = 2000.0;
+  private double secondaryBotSpeed = 3.0;
+  private double bulletRange = 1000.0;
   
   // 通信参数
   private static final int POS_PERIOD = 20;
@@ -56,7 +59,8 @@ public class MagicSecondary extends Brain {
   private int state = STATE_INITIAL_TURN_NORTH;
   private int retreatStartTick = 0;
   private double targetTurnDirection = 0.0;
-  private final String myId = "SCOUT_" + Integer.toHexString((int)(Math.random()*0xFFFF));
+  private String myId;
+  private int mySenderId;  // 类型化消息的发送者编号：myId 的 hashCode，与主机器人以前解析字符串时取的编号一致
   
   // 位置追踪
   private double posX;
@@ -66,14 +70,27 @@ public class MagicSecondary extends Brain {
   private boolean isNorthBot = true;  // true=顶部(ROCKY), false=底部(MARIO)
   private boolean isLeftTeam = true;
   
-  // 检测到的敌人（用于逃跑判断）
-  private final List<IRadarResult> detectedThreats = new ArrayList<>();
+  // 检测到的敌人数量（用于逃跑判断）
+  private int detectedThreats = 0;
+  private final RadarScan radar = new RadarScan();  // 每步复用的雷达缓冲区
   
   // ===== 生命周期 =====
   @Override
   public void activate() {
     tick = 0;
     lastPosBroadcast = -9999;
+    myId = "SCOUT_" + Integer.toHexString((int)(getRandom().nextDouble()*0xFFFF));
+    mySenderId = myId.hashCode();
+    // 只读 fetchAllMessages() 的队友（如 AegisMain）收到的是文本形式 "POS|id|tick|x|y|heading" / "ENEMY|id|tick|x|y|radius"，由引擎按需生成
+    declareTextForm(MagicMain.MSG_SCOUT_POSITION, MagicMain.TEXT_SCOUT_POSITION);
+    declareTextForm(MagicMain.MSG_SCOUT_ENEMY, MagicMain.TEXT_SCOUT_ENEMY);
+    
+    // 读取比赛配置
+    MatchConfig config = getMatchConfig();
+    fieldWidth = config.getArenaWidth();
+    fieldHeight = config.getArenaHeight();
+    secondaryBotSpeed = config.getTeamASecondaryBot().getSpeed();
+    bulletRange = config.getBulletRange();
     
     // 自定位
     identifySelf();
@@ -93,46 +110,44 @@ public class MagicSecondary extends Brain {
     // ===== 第二步：周期广播位置 =====
     if (tick - lastPosBroadcast >= POS_PERIOD) {
       lastPosBroadcast = tick;
-      broadcast(String.format(Locale.ROOT, "POS|%s|%d|%.1f|%.1f|%.6f", 
-          myId, tick, posX, posY, getHeading()));
+      broadcast(MagicMain.MSG_SCOUT_POSITION, mySenderId, tick, posX, posY, getHeading());
     }
     
     // ===== 第三步：雷达扫描 =====
-    detectedThreats.clear();
-    ArrayList<IRadarResult> radarResults = detectRadar();
-    
-    if (radarResults != null) {
-      for (IRadarResult r : radarResults) {
-        if (r.getObjectType() == IRadarResult.Types.OpponentMainBot ||
-            r.getObjectType() == IRadarResult.Types.OpponentSecondaryBot) {
-          
-          // 广播敌人位置
-          double enemyX = posX + r.getObjectDistance() * Math.cos(r.getObjectDirection());
-          double enemyY = posY + r.getObjectDistance() * Math.sin(r.getObjectDirection());
-          broadcast(String.format(Locale.ROOT, "ENEMY|%s|%d|%.1f|%.1f|%.1f", 
-              myId, tick, enemyX, enemyY, r.getObjectRadius()));
-          
-          // 检测威胁
-          boolean isMainThreat = r.getObjectType() == IRadarResult.Types.OpponentMainBot &&
-                                 r.getObjectDistance() <= MAIN_THREAT_DISTANCE;
-          boolean isSecondaryThreat = r.getObjectType() == IRadarResult.Types.OpponentSecondaryBot &&
-                                      r.getObjectDistance() <= SECONDARY_THREAT_DISTANCE;
-          
-          if (isMainThreat || isSecondaryThreat) {
-            detectedThreats.add(r);
-            if (state == STATE_NORMAL_MOVE) {
-              state = STATE_FLEE;
-            }
-          }
-          
-          // 非常近的威胁 - 立即后退
-          if (r.getObjectDistance() < CLOSE_THREAT_DISTANCE && 
-              r.getObjectType() != IRadarResult.Types.BULLET &&
-              state == STATE_NORMAL_MOVE) {
-            state = STATE_RETREAT;
-            retreatStartTick = tick;
+    detectedThreats = 0;
+    detectRadar(radar);
+    
+    for (int i = 0; i < radar.size(); i++) {
+      IRadarResult.Types type = radar.getType(i);
+      double distance = radar.getDistance(i);
+      if (type == IRadarResult.Types.OpponentMainBot ||
+          type == IRadarResult.Types.OpponentSecondaryBot) {
+        
+        // 广播敌人位置
+        double enemyX = posX + distance * Math.cos(radar.getDirection(i));
+        double enemyY = posY + distance * Math.sin(radar.getDirection(i));
+        broadcast(MagicMain.MSG_SCOUT_ENEMY, mySenderId, tick, enemyX, enemyY, radar.getRadius(i));
+        
+        // 检测威胁
+        boolean isMainThreat = type == IRadarResult.Types.OpponentMainBot &&
+                               distance <= MAIN_THREAT_DISTANCE;
+        boolean isSecondaryThreat = type == IRadarResult.Types.OpponentSecondaryBot &&
+                                    distance <= SECONDARY_THREAT_DISTANCE;
+        
+        if (isMainThreat || isSecondaryThreat) {
+          detectedThreats++;
+          if (state == STATE_NORMAL_MOVE) {
+            state = STATE_FLEE;
           }
         }
+        
+        // 非常近的威胁 - 立即后退
+        if (distance < CLOSE_THREAT_DISTANCE && 
+            type != IRadarResult.Types.BULLET &&
+            state == STATE_NORMAL_MOVE) {
+          state = STATE_RETREAT;
+          retreatStartTick = tick;
+        }
       }
     }
     
@@ -148,15 +163,15 @@ public class MagicSecondary extends Brain {
   // ===== 位置更新 =====
   private void updatePosition() {
     if (movingForward) {
-      posX += SECONDARY_BOT_SPEED * Math.cos(getHeading());
-      posY += SECONDARY_BOT_SPEED * Math.sin(getHeading());
+      posX += secondaryBotSpeed * Math.cos(getHeading());
+      posY += secondaryBotSpeed * Math.sin(getHeading());
       clampCoordinates();
       movingForward = false;
     }
     
     if (movingBackward) {
-      posX -= SECONDARY_BOT_SPEED * Math.cos(getHeading());
-      posY -= SECONDARY_BOT_SPEED * Math.sin(getHeading());
+      posX -= secondaryBotSpeed * Math.cos(getHeading());
+      posY -= secondaryBotSpeed * Math.sin(getHeading());
       clampCoordinates();
       movingBackward = false;
     }
@@ -164,9 +179,9 @@ public class MagicSecondary extends Brain {
   
   private void clampCoordinates() {
     if (posX < 0.0) posX = 0.0;
-    if (posX > FIELD_WIDTH) posX = FIELD_WIDTH;
+    if (posX > fieldWidth) posX = fieldWidth;
     if (posY < 0.0) posY = 0.0;
-    if (posY > FIELD_HEIGHT) posY = FIELD_HEIGHT;
+    if (posY > fieldHeight) posY = fieldHeight;
   }
   
   // ===== 自定位 =====
@@ -232,7 +247,7 @@ public class MagicSecondary extends Brain {
       state = STATE_NORMAL_MOVE;
     }
     
-    if (posX >= FIELD_WIDTH - BOUNDARY_MARGIN) {
+    if (posX >= fieldWidth - BOUNDARY_MARGIN) {
       if (!isFacingDirection(PI)) {
         turnToDirection(PI);
         return true;
@@ -248,7 +263,7 @@ public class MagicSecondary extends Brain {
       state = STATE_NORMAL_MOVE;
     }
     
-    if (posY >= FIELD_HEIGHT - BOUNDARY_MARGIN) {
+    if (posY >= fieldHeight - BOUNDARY_MARGIN) {
       if (!isFacingDirection(-HALF_PI)) {
         turnToDirection(-HALF_PI);
         return true;
@@ -357,10 +372,10 @@ public class MagicSecondary extends Brain {
   
   private void handleWallCollision() {
     // 检测角落
-    boolean atCorner = (posX > FIELD_WIDTH - CORNER_MARGIN && posY > FIELD_HEIGHT - CORNER_MARGIN) ||
-                       (posX > FIELD_WIDTH - CORNER_MARGIN && posY < CORNER_MARGIN) ||
+    boolean atCorner = (posX > fieldWidth - CORNER_MARGIN && posY > fieldHeight - CORNER_MARGIN) ||
+                       (posX > fieldWidth - CORNER_MARGIN && posY < CORNER_MARGIN) ||
                        (posX < CORNER_MARGIN && posY < CORNER_MARGIN) ||
-                       (posX < CORNER_MARGIN && posY > FIELD_HEIGHT - CORNER_MARGIN);
+                       (posX < CORNER_MARGIN && posY > fieldHeight - CORNER_MARGIN);
     
     if (atCorner) {
       state = STATE_TURN_LEFT;
@@ -370,8 +385,8 @@ public class MagicSecondary extends Brain {
     }
     
     // 中间区域检测
-    boolean midHorizontal = !(posX > FIELD_WIDTH - CORNER_MARGIN) && !(posX < CORNER_MARGIN);
-    boolean midVertical = !(posY > FIELD_HEIGHT - CORNER_MARGIN) && !(posY < CORNER_MARGIN);
+    boolean midHorizontal = !(posX > fieldWidth - CORNER_MARGIN) && !(posX < CORNER_MARGIN);
+    boolean midVertical = !(posY > fieldHeight - CORNER_MARGIN) && !(posY < CORNER_MARGIN);
     
     if (midHorizontal && midVertical) {
       performMove();
@@ -411,7 +426,7 @@ public class MagicSecondary extends Brain {
       performMoveBack();
     } else {
       // 后退完成，随机转向
-      if (Math.random() < 0.5) {
+      if (getRandom().nextDouble() < 0.5) {
         state = STATE_TURN_LEFT;
         targetTurnDirection = getHeading() - HALF_PI;
         stepTurn(Parameters.Direction.LEFT);
@@ -425,8 +440,8 @@ public class MagicSecondary extends Brain {
   
   private void handleFlee() {
     // 检测是否在角落附近
-    boolean nearCorner = (posX > FIELD_WIDTH - 100.0 || posX < 100.0) &&
-                         (posY > FIELD_HEIGHT - 100.0 || posY < 100.0);
+    boolean nearCorner = (posX > fieldWidth - 100.0 || posX < 100.0) &&
+                         (posY > fieldHeight - 100.0 || posY < 100.0);
     
     if (nearCorner) {
       state = STATE_TURN_RIGHT;
@@ -436,8 +451,8 @@ public class MagicSecondary extends Brain {
     }
     
     // 中间区域检测
-    boolean midHorizontal = !(posX > FIELD_WIDTH - 100.0) && !(posX < 100.0);
-    boolean midVertical = !(posY > FIELD_HEIGHT - 100.0) && !(posY < 100.0);
+    boolean midHorizontal = !(posX > fieldWidth - 100.0) && !(posX < 100.0);
+    boolean midVertical = !(posY > fieldHeight - 100.0) && !(posY < 100.0);
     
     if (midHorizontal && midVertical) {
       performFleeMove();
@@ -463,11 +478,11 @@ public class MagicSecondary extends Brain {
   
   private void performFleeMove() {
     moveBack();
-    posX -= SECONDARY_BOT_SPEED * Math.cos(getHeading());
-    posY -= SECONDARY_BOT_SPEED * Math.sin(getHeading());
+    posX -= secondaryBotSpeed * Math.cos(getHeading());
+    posY -= secondaryBotSpeed * Math.sin(getHeading());
     clampCoordinates();
     
-    if (detectedThreats.isEmpty()) {
+    if (detectedThreats == 0) {
       state = STATE_NORMAL_MOVE;
     }
   }
@@ -28,7 +28,7 @@ public class RandomFire extends Brain {
     turnTask=true;
     moveTask=false;
     firstMove=true;
-    endTaskDirection=(Math.random()-0.5)*0.5*Math.PI;
+    endTaskDirection=(getRandom().nextDouble()-0.5)*0.5*Math.PI;
     turnRight=(endTaskDirection>0);
     endTaskDirection+=getHeading();
     if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -36,8 +36,8 @@ public class RandomFire extends Brain {
     sendLogMessage("Turning point. Waza!");
   }
   public void step() {
-    if (Math.random()<0.01) {
-      fire(Math.random()*Math.PI*2);
+    if (getRandom().nextDouble()<0.01) {
+      fire(getRandom().nextDouble()*Math.PI*2);
       return;
     }
     if (turnTask) {
@@ -76,7 +76,7 @@ public class RandomFire extends Brain {
       if (endTaskCounter<0) {
         turnTask=true;
         moveTask=false;
-        endTaskDirection=(Math.random()-0.5)*2*Math.PI;
+        endTaskDirection=(getRandom().nextDouble()-0.5)*2*Math.PI;
         turnRight=(endTaskDirection>0);
         endTaskDirection+=getHeading();
         if (turnRight) stepTurn(Parameters.Direction.RIGHT);
@@ -91,6 +91,6 @@ public class RandomFire extends Brain {
     return;
   }
   private boolean isHeading(double dir){
-    return Math.abs(Math.sin(getHeading()-dir))<Parameters.teamAMainBotStepTurnAngle;
+    return Math.abs(Math.sin(getHeading()-dir))<getMatchConfig().getTeamAMainBot().getStepTurnAngle();
   }
 }
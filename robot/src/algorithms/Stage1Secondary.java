@@ -4,7 +4,6 @@ import characteristics.IRadarResult;
 import characteristics.IRadarResult.Types;
 import characteristics.Parameters.Direction;
 import java.util.ArrayList;
-import java.util.HashMap;
 import robotsimulator.Brain;
 
 /**
@@ -62,22 +61,10 @@ public class Stage1Secondary extends Brain {
    private double desiredBearing;
    
    // Team coordination
-   private HashMap<Integer, ArrayList<Double>> alliedUnits;
    private ArrayList<IRadarResult> hostileContacts;
 
    public Stage1Secondary() {
-      this.alliedUnits = new HashMap<>();
       this.hostileContacts = new ArrayList<>();
-      
-      ArrayList<Double> defaultStatus = new ArrayList<>(2);
-      defaultStatus.add(0.0);
-      defaultStatus.add(0.0);
-      
-      this.alliedUnits.put(COMBAT_UNIT_A, new ArrayList<>(defaultStatus));
-      this.alliedUnits.put(COMBAT_UNIT_B, new ArrayList<>(defaultStatus));
-      this.alliedUnits.put(COMBAT_UNIT_C, new ArrayList<>(defaultStatus));
-      this.alliedUnits.put(SCOUT_UNIT_A, new ArrayList<>(defaultStatus));
-      this.alliedUnits.put(SCOUT_UNIT_B, new ArrayList<>(defaultStatus));
    }
 
    public void activate() {
@@ -457,7 +444,7 @@ public class Stage1Secondary extends Brain {
       if (this.tickCount < this.evadeStartTick + 25) {
          this.retreatUnit();
       } else {
-         if (Math.random() < 0.5) {
+         if (getRandom().nextDouble() < 0.5) {
             this.operationalState = STATE_ROTATE_LEFT;
             this.desiredBearing = this.getHeading() + -1.5707963267948966;
             this.stepTurn(Direction.LEFT);
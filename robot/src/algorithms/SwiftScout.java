@@ -50,11 +50,11 @@ public class SwiftScout extends Brain {
     for (IRadarResult o: detectRadar())
       if (isSameDirection(o.getObjectDirection(),Parameters.NORTH)) whoAmI=UNDEFINED;
     if (whoAmI == ROCKY){
-      myX=Parameters.teamASecondaryBot1InitX;
-      myY=Parameters.teamASecondaryBot1InitY;
+      myX=getMatchConfig().getTeamASecondaryBot().getInitX(0);
+      myY=getMatchConfig().getTeamASecondaryBot().getInitY(0);
     } else {
-      myX=Parameters.teamASecondaryBot2InitX;
-      myY=Parameters.teamASecondaryBot2InitY;
+      myX=getMatchConfig().getTeamASecondaryBot().getInitX(1);
+      myY=getMatchConfig().getTeamASecondaryBot().getInitY(1);
     }
 
     //INIT
@@ -65,13 +65,14 @@ public class SwiftScout extends Brain {
   public void step() {
     //ODOMETRY CODE
     if (isMoving){
-      myX+=Parameters.teamASecondaryBotSpeed*Math.cos(getHeading());
-      myY+=Parameters.teamASecondaryBotSpeed*Math.sin(getHeading());
+      myX+=getMatchConfig().getTeamASecondaryBot().getSpeed()*Math.cos(getHeading());
+      myY+=getMatchConfig().getTeamASecondaryBot().getSpeed()*Math.sin(getHeading());
       isMoving=false;
     }
     //DEBUG MESSAGE
-    if (whoAmI == ROCKY) sendLogMessage("#ROCKY *thinks* he is rolling at position ("+(int)myX+", "+(int)myY+").");
-    else sendLogMessage("#MARIO *thinks* he is rolling at position ("+(int)myX+", "+(int)myY+").");
+    final String name=(whoAmI == ROCKY)?"#ROCKY":"#MARIO";
+    final int x=(int)myX, y=(int)myY;
+    sendLogMessage(() -> name+" *thinks* he is rolling at position ("+x+", "+y+").");
 
     //RADAR DETECTION
     freeze=false;
@@ -0,0 +1,45 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Candidate targets handed out closest first, one at a time, so a brain can stop at the first that passes a
+ * costlier check (a fire-safety test...) without sorting the rest. Each candidate comes with its range, computed
+ * once by the caller; equal ranges come out in the order they were added, as a stable sort would give them.
+ * The buffers are kept from one tick to the next: clear() and reuse.
+ */
+final class TargetSelector {
+   static final int NONE = -1;
+
+   private int[] targets = new int[16];
+   private double[] ranges = new double[16];
+   private int size;
+
+   void clear() { this.size = 0; }
+
+   void add(int target, double range) {
+      if (this.size == this.targets.length) {
+         this.targets = Arrays.copyOf(this.targets, this.size * 2);
+         this.ranges = Arrays.copyOf(this.ranges, this.size * 2);
+      }
+      this.targets[this.size] = target;
+      this.ranges[this.size] = range;
+      this.size++;
+   }
+
+   /** Removes and returns the closest candidate left, NONE when there is none. */
+   int next() {
+      if (this.size == 0) return NONE;
+      int closest = 0;
+      for (int i = 1; i < this.size; i++) {
+         if (this.ranges[i] < this.ranges[closest]) {
+            closest = i;
+         }
+      }
+      int target = this.targets[closest];
+      this.size--;
+      System.arraycopy(this.targets, closest + 1, this.targets, closest, this.size - closest); // keeps the order of equals
+      System.arraycopy(this.ranges, closest + 1, this.ranges, closest, this.size - closest);
+      return target;
+   }
+}
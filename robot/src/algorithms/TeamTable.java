@@ -0,0 +1,69 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Last known state of each team mate, by sender id: position, heading and the tick it was reported at.
+ * Slots are taken in order of first report and then updated in place, so a position message costs no allocation;
+ * read it with an index from 0 to size(). Ids are found by a linear scan, a team being a handful of bots.
+ */
+final class TeamTable {
+   private static final int NEVER = -1; // tick of a slot declared but not reported yet
+
+   private int[] ids;
+   private double[] x;
+   private double[] y;
+   private double[] heading;
+   private int[] lastUpdate;
+   private int size;
+
+   TeamTable(int... members) {
+      int capacity = Math.max(8, members.length);
+      this.ids = new int[capacity];
+      this.x = new double[capacity];
+      this.y = new double[capacity];
+      this.heading = new double[capacity];
+      this.lastUpdate = new int[capacity];
+      for (int id : members) {
+         this.update(id, 0.0, 0.0, 0.0, NEVER);
+      }
+   }
+
+   void update(int id, double newX, double newY, double newHeading, int tick) {
+      int slot = this.indexOf(id);
+      if (slot < 0) {
+         if (this.size == this.ids.length) {
+            this.grow();
+         }
+         slot = this.size++;
+         this.ids[slot] = id;
+      }
+      this.x[slot] = newX;
+      this.y[slot] = newY;
+      this.heading[slot] = newHeading;
+      this.lastUpdate[slot] = tick;
+   }
+
+   int indexOf(int id) {
+      for (int i = 0; i < this.size; i++) {
+         if (this.ids[i] == id) return i;
+      }
+      return -1;
+   }
+
+   int size() { return this.size; }
+   double getX(int slot) { return this.x[slot]; }
+   double getY(int slot) { return this.y[slot]; }
+   double getHeading(int slot) { return this.heading[slot]; }
+   /** Whether the slot has been reported at tick since or later; a declared slot never reported is not current. */
+   boolean isCurrent(int slot, int since) { return this.lastUpdate[slot] != NEVER && this.lastUpdate[slot] >= since; }
+
+   private void grow() { // only when a sender id not declared up front shows up
+      int capacity = this.ids.length * 2;
+      this.ids = Arrays.copyOf(this.ids, capacity);
+      this.x = Arrays.copyOf(this.x, capacity);
+      this.y = Arrays.copyOf(this.y, capacity);
+      this.heading = Arrays.copyOf(this.heading, capacity);
+      this.lastUpdate = Arrays.copyOf(this.lastUpdate, capacity);
+   }
+}
@@ -0,0 +1,202 @@
+package characteristics;
+
+/**
+ * Immutable settings of one match: arena size, team names, the four bot profiles, the bullet constants,
+ * the random seed, the time limits of the brains and whether ticks run in two phases.
+ * DEFAULT is the profile hard-coded in Parameters; variants are derived with the with...() methods, which
+ * return a new object and leave the receiver untouched, so one instance can be shared by concurrent matches.
+ * Brains reach the configuration of their own match through robotsimulator.Brain.getMatchConfig().
+ */
+public final class MatchConfig {
+  //---DEFAULT-PROFILE---//
+  public static final MatchConfig DEFAULT = new MatchConfig(
+      3000, 2000, //arena size, as hard-coded in SimulatorEngine
+      Parameters.teamAName, Parameters.teamBName,
+      new BotProfile(Parameters.teamAMainBotBrainClassName, Parameters.teamAMainBotAvatar,
+                     Parameters.teamAMainBotRadius, Parameters.teamAMainBotFrontalDetectionRange,
+                     Parameters.teamAMainBotSpeed, Parameters.teamAMainBotStepTurnAngle, Parameters.teamAMainBotHealth,
+                     new double[]{Parameters.teamAMainBot1InitX, Parameters.teamAMainBot2InitX, Parameters.teamAMainBot3InitX},
+                     new double[]{Parameters.teamAMainBot1InitY, Parameters.teamAMainBot2InitY, Parameters.teamAMainBot3InitY},
+                     new double[]{Parameters.teamAMainBot1InitHeading, Parameters.teamAMainBot2InitHeading, Parameters.teamAMainBot3InitHeading}),
+      new BotProfile(Parameters.teamASecondaryBotBrainClassName, Parameters.teamASecondaryBotAvatar,
+                     Parameters.teamASecondaryBotRadius, Parameters.teamASecondaryBotFrontalDetectionRange,
+                     Parameters.teamASecondaryBotSpeed, Parameters.teamASecondaryBotStepTurnAngle, Parameters.teamASecondaryBotHealth,
+                     new double[]{Parameters.teamASecondaryBot1InitX, Parameters.teamASecondaryBot2InitX},
+                     new double[]{Parameters.teamASecondaryBot1InitY, Parameters.teamASecondaryBot2InitY},
+                     new double[]{Parameters.teamASecondaryBot1InitHeading, Parameters.teamASecondaryBot2InitHeading}),
+      new BotProfile(Parameters.teamBMainBotBrainClassName, Parameters.teamBMainBotAvatar,
+                     Parameters.teamBMainBotRadius, Parameters.teamBMainBotFrontalDetectionRange,
+                     Parameters.teamBMainBotSpeed, Parameters.teamBMainBotStepTurnAngle, Parameters.teamBMainBotHealth,
+                     new double[]{Parameters.teamBMainBot1InitX, Parameters.teamBMainBot2InitX, Parameters.teamBMainBot3InitX},
+                     new double[]{Parameters.teamBMainBot1InitY, Parameters.teamBMainBot2InitY, Parameters.teamBMainBot3InitY},
+                     new double[]{Parameters.teamBMainBot1InitHeading, Parameters.teamBMainBot2InitHeading, Parameters.teamBMainBot3InitHeading}),
+      new BotProfile(Parameters.teamBSecondaryBotBrainClassName, Parameters.teamBSecondaryBotAvatar,
+                     Parameters.teamBSecondaryBotRadius, Parameters.teamBSecondaryBotFrontalDetectionRange,
+                     Parameters.teamBSecondaryBotSpeed, Parameters.teamBSecondaryBotStepTurnAngle, Parameters.teamBSecondaryBotHealth,
+                     new double[]{Parameters.teamBSecondaryBot1InitX, Parameters.teamBSecondaryBot2InitX},
+                     new double[]{Parameters.teamBSecondaryBot1InitY, Parameters.teamBSecondaryBot2InitY},
+                     new double[]{Parameters.teamBSecondaryBot1InitHeading, Parameters.teamBSecondaryBot2InitHeading}),
+      Parameters.bulletVelocity, Parameters.bulletDamage, Parameters.bulletRadius, Parameters.bulletRange,
+      0L, //random seed
+      0L, 0L, //no step budget, no watchdog
+      false); //bots step one after another, as in SimulatorEngine
+
+  //---VARIABLES---//
+  private final double arenaWidth, arenaHeight;
+  private final String teamAName, teamBName;
+  private final BotProfile teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot;
+  private final double bulletVelocity, bulletDamage, bulletRadius, bulletRange;
+  private final long seed;
+  private final long stepBudget, hangTimeout;
+  private final boolean twoPhaseTick;
+
+  //---CONSTRUCTORS---//
+  private MatchConfig(double arenaWidth, double arenaHeight, String teamAName, String teamBName,
+                      BotProfile teamAMainBot, BotProfile teamASecondaryBot, BotProfile teamBMainBot, BotProfile teamBSecondaryBot,
+                      double bulletVelocity, double bulletDamage, double bulletRadius, double bulletRange, long seed,
+                      long stepBudget, long hangTimeout, boolean twoPhaseTick) {
+    this.arenaWidth = arenaWidth;
+    this.arenaHeight = arenaHeight;
+    this.teamAName = teamAName;
+    this.teamBName = teamBName;
+    this.teamAMainBot = teamAMainBot;
+    this.teamASecondaryBot = teamASecondaryBot;
+    this.teamBMainBot = teamBMainBot;
+    this.teamBSecondaryBot = teamBSecondaryBot;
+    this.bulletVelocity = bulletVelocity;
+    this.bulletDamage = bulletDamage;
+    this.bulletRadius = bulletRadius;
+    this.bulletRange = bulletRange;
+    this.seed = seed;
+    this.stepBudget = stepBudget;
+    this.hangTimeout = hangTimeout;
+    this.twoPhaseTick = twoPhaseTick;
+  }
+
+  //---GET/SETTERS---//
+  public double getArenaWidth() { return arenaWidth; }
+  public double getArenaHeight() { return arenaHeight; }
+  public String getTeamAName() { return teamAName; }
+  public String getTeamBName() { return teamBName; }
+  public BotProfile getTeamAMainBot() { return teamAMainBot; }
+  public BotProfile getTeamASecondaryBot() { return teamASecondaryBot; }
+  public BotProfile getTeamBMainBot() { return teamBMainBot; }
+  public BotProfile getTeamBSecondaryBot() { return teamBSecondaryBot; }
+  public double getBulletVelocity() { return bulletVelocity; }
+  public double getBulletDamage() { return bulletDamage; }
+  public double getBulletRadius() { return bulletRadius; }
+  public double getBulletRange() { return bulletRange; }
+  public long getSeed() { return seed; } //root of the per-bot random sources handed out by robotsimulator.Brain.getRandom()
+  public long getStepBudget() { return stepBudget; } //ns a brain may spend in one step() before its command is dropped, 0 for no limit
+  public long getHangTimeout() { return hangTimeout; } //ns after which a brain still running is cut off for the rest of the match, 0 for no watchdog
+  public boolean isTwoPhaseTick() { return twoPhaseTick; } //all brains decide on the world as the tick began, then the commands are applied
+
+  //---DERIVED-CONFIGURATIONS---//
+  public MatchConfig withArena(double width, double height) {
+    return new MatchConfig(width, height, teamAName, teamBName, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, seed, stepBudget, hangTimeout, twoPhaseTick);
+  }
+  public MatchConfig withTeamNames(String teamA, String teamB) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamA, teamB, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, seed, stepBudget, hangTimeout, twoPhaseTick);
+  }
+  public MatchConfig withBotProfiles(BotProfile aMain, BotProfile aSecondary, BotProfile bMain, BotProfile bSecondary) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamAName, teamBName, aMain, aSecondary, bMain, bSecondary,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, seed, stepBudget, hangTimeout, twoPhaseTick);
+  }
+  public MatchConfig withTeamAMainBot(BotProfile profile) { return withBotProfiles(profile, teamASecondaryBot, teamBMainBot, teamBSecondaryBot); }
+  public MatchConfig withTeamASecondaryBot(BotProfile profile) { return withBotProfiles(teamAMainBot, profile, teamBMainBot, teamBSecondaryBot); }
+  public MatchConfig withTeamBMainBot(BotProfile profile) { return withBotProfiles(teamAMainBot, teamASecondaryBot, profile, teamBSecondaryBot); }
+  public MatchConfig withTeamBSecondaryBot(BotProfile profile) { return withBotProfiles(teamAMainBot, teamASecondaryBot, teamBMainBot, profile); }
+  public MatchConfig withBrains(String aMain, String aSecondary, String bMain, String bSecondary) {
+    return withBotProfiles(teamAMainBot.withBrainClassName(aMain), teamASecondaryBot.withBrainClassName(aSecondary),
+                           teamBMainBot.withBrainClassName(bMain), teamBSecondaryBot.withBrainClassName(bSecondary));
+  }
+  public MatchConfig withBullets(double velocity, double damage, double radius, double range) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamAName, teamBName, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           velocity, damage, radius, range, seed, stepBudget, hangTimeout, twoPhaseTick);
+  }
+  public MatchConfig withSeed(long value) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamAName, teamBName, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, value, stepBudget, hangTimeout, twoPhaseTick);
+  }
+  public MatchConfig withStepBudget(long budgetNanos, long hangTimeoutNanos) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamAName, teamBName, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, seed, budgetNanos, hangTimeoutNanos, twoPhaseTick);
+  }
+  public MatchConfig withTwoPhaseTick(boolean value) {
+    return new MatchConfig(arenaWidth, arenaHeight, teamAName, teamBName, teamAMainBot, teamASecondaryBot, teamBMainBot, teamBSecondaryBot,
+                           bulletVelocity, bulletDamage, bulletRadius, bulletRange, seed, stepBudget, hangTimeout, value);
+  }
+
+  /**
+   * Immutable characteristics shared by the bots of one kind (main or secondary) of one team,
+   * together with the spawn point of each of them.
+   */
+  public static final class BotProfile {
+    //---VARIABLES---//
+    private final String brainClassName, avatar;
+    private final double radius, frontalDetectionRange, speed, stepTurnAngle, health;
+    private final double[] initX, initY, initHeading;
+
+    //---CONSTRUCTORS---//
+    public BotProfile(String brainClassName, String avatar, double radius, double frontalDetectionRange,
+                      double speed, double stepTurnAngle, double health, double[] initX, double[] initY, double[] initHeading) {
+      if (initX.length != initY.length || initX.length != initHeading.length)
+        throw new IllegalArgumentException("Spawn coordinates and headings must have the same length.");
+      this.brainClassName = brainClassName;
+      this.avatar = avatar;
+      this.radius = radius;
+      this.frontalDetectionRange = frontalDetectionRange;
+      this.speed = speed;
+      this.stepTurnAngle = stepTurnAngle;
+      this.health = health;
+      this.initX = initX.clone();
+      this.initY = initY.clone();
+      this.initHeading = initHeading.clone();
+    }
+
+    //---GET/SETTERS---//
+    public String getBrainClassName() { return brainClassName; }
+    public String getAvatar() { return avatar; }
+    public double getRadius() { return radius; }
+    public double getFrontalDetectionRange() { return frontalDetectionRange; }
+    public double getSpeed() { return speed; }
+    public double getStepTurnAngle() { return stepTurnAngle; }
+    public double getHealth() { return health; }
+    public int getBotCount() { return initX.length; }
+    public double getInitX(int bot) { return initX[bot]; }
+    public double getInitY(int bot) { return initY[bot]; }
+    public double getInitHeading(int bot) { return initHeading[bot]; }
+
+    //---DERIVED-PROFILES---//
+    public BotProfile withBrainClassName(String name) {
+      return new BotProfile(name, avatar, radius, frontalDetectionRange, speed, stepTurnAngle, health, initX, initY, initHeading);
+    }
+    public BotProfile withAvatar(String fileName) {
+      return new BotProfile(brainClassName, fileName, radius, frontalDetectionRange, speed, stepTurnAngle, health, initX, initY, initHeading);
+    }
+    public BotProfile withRadius(double value) {
+      return new BotProfile(brainClassName, avatar, value, frontalDetectionRange, speed, stepTurnAngle, health, initX, initY, initHeading);
+    }
+    public BotProfile withFrontalDetectionRange(double value) {
+      return new BotProfile(brainClassName, avatar, radius, value, speed, stepTurnAngle, health, initX, initY, initHeading);
+    }
+    public BotProfile withSpeed(double value) {
+      return new BotProfile(brainClassName, avatar, radius, frontalDetectionRange, value, stepTurnAngle, health, initX, initY, initHeading);
+    }
+    public BotProfile withStepTurnAngle(double value) {
+      return new BotProfile(brainClassName, avatar, radius, frontalDetectionRange, speed, value, health, initX, initY, initHeading);
+    }
+    public BotProfile withHealth(double value) {
+      return new BotProfile(brainClassName, avatar, radius, frontalDetectionRange, speed, stepTurnAngle, value, initX, initY, initHeading);
+    }
+    public BotProfile withSpawn(int bot, double x, double y, double heading) {
+      double[] xs = initX.clone(), ys = initY.clone(), headings = initHeading.clone();
+      xs[bot] = x;
+      ys[bot] = y;
+      headings[bot] = heading;
+      return new BotProfile(brainClassName, avatar, radius, frontalDetectionRange, speed, stepTurnAngle, health, xs, ys, headings);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/* ******************************************************
+ * Simovies - Eurobot 2015 Robomovies Simulator.
+ * Copyright (C) 2014 <Binh-Minh.Bui-Xuan@ens-lyon.org>.
+ * GPL version>=3 <http://www.gnu.org/licenses/>.
+ * ******************************************************/
+package playground;
+
+/**
+ * Arena of a match: a 3000x2000 playing field inside a 124mm margin.
+ * The ground is a Terrain shared with every other area built from the same one; the first setPosition()
+ * makes a private copy, so writing to one area never shows through another.
+ */
+public class PlayingArea {
+  //---HARD-CODED-PARAMETERS---//
+  private static final Terrain BLANK = new Terrain(3248, 2248); //shared by every area built with the default constructor
+
+  //---VARIABLES---//
+  private Terrain terrain;
+  private boolean shared; //terrain may be read by someone else: copy it before writing
+  private int xModifier, yModifier;
+  private int realWidth, realHeight;
+  private int width, height;
+
+  //---CONSTRUCTORS---//
+  public PlayingArea(){
+    this(BLANK);
+  }
+  public PlayingArea(Terrain terrain){
+    xModifier=124;
+    yModifier=124;
+    realWidth=3248;
+    width=3000;
+    realHeight=2248;
+    height=2000;
+    if (terrain.getWidth() != realWidth || terrain.getHeight() != realHeight)
+      throw new IllegalArgumentException("Terrain must be "+realWidth+"x"+realHeight+", not "+terrain.getWidth()+"x"+terrain.getHeight()+".");
+    this.terrain=terrain;
+    this.shared=true;
+  }
+
+  //---GET/SETTERS---//
+  public int getWidth(){ return width; }
+  public int getHeight(){ return height; }
+  public Position getPosition(int x, int y){ return terrain.getPosition(x+xModifier,y+yModifier); }
+  public void setPosition(int x, int y, Position p){
+    if (shared) {
+      terrain=terrain.copy();
+      shared=false;
+    }
+    terrain.set(x+xModifier,y+yModifier,p);
+  }
+  public boolean isAccessible(int x, int y){ return terrain.isAccessible(x+xModifier,y+yModifier); }
+  /** The current ground, read-only from now on: later writes to this area go to a copy. */
+  public Terrain getTerrain(){
+    shared=true;
+    return terrain;
+  }
+}
@@ -0,0 +1,91 @@
+package playground;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import playground.Enumerations.GroundType;
+
+/**
+ * Ground of a PlayingArea, one byte per cell instead of one Position object per cell.
+ * A byte is an index in a small palette of Positions, one per distinct (Color, GroundType) ground; 0 marks a cell
+ * that was never set, for which getPosition() returns null as the former Position[][] did. A terrain on which
+ * nothing was ever set has no cell array at all.
+ * The palette keeps the first Position set for each ground and getPosition() hands out that stored object, as the
+ * former array did; since cells of the same ground share it, changing its color or type changes all of them. Terrains handed out by PlayingArea.getTerrain() are never written again,
+ * so one instance can back the areas of any number of concurrent matches.
+ */
+public final class Terrain {
+  //---HARD-CODED-PARAMETERS---//
+  private static final int MAX_PALETTE_SIZE = 255; //code 0 is the unset cell
+
+  //---VARIABLES---//
+  private final int width, height;
+  private byte[] cells; //column-major, as position[x][y]; null while every cell is unset
+  private Position[] palette; //palette[0] is null, the unset cell
+  private int paletteSize;
+
+  //---CONSTRUCTORS---//
+  public Terrain(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.cells = null;
+    this.palette = new Position[8];
+    this.paletteSize = 1;
+  }
+  private Terrain(Terrain other) {
+    this.width = other.width;
+    this.height = other.height;
+    this.cells = (other.cells == null) ? null : other.cells.clone();
+    this.palette = other.palette.clone();
+    this.paletteSize = other.paletteSize;
+  }
+  Terrain copy() { return new Terrain(this); }
+
+  //---GET/SETTERS---//
+  public int getWidth() { return width; }
+  public int getHeight() { return height; }
+  /** The stored Position of the cell, or null if the cell was never set. */
+  public Position getPosition(int x, int y) { return palette[code(x, y)]; }
+  public GroundType getType(int x, int y) {
+    Position position = palette[code(x, y)];
+    return (position == null) ? null : position.getType();
+  }
+  public Color getColor(int x, int y) {
+    Position position = palette[code(x, y)];
+    return (position == null) ? null : position.getColor();
+  }
+  /** Same answer as Position.isAccessible(); a cell that was never set is open ground. */
+  public boolean isAccessible(int x, int y) { return getType(x, y) != GroundType.WALL; }
+  public boolean isStairWay(int x, int y) { return getType(x, y) == GroundType.STAIRWAYTOHEAVEN; }
+
+  //---UPDATES---//
+  void set(int x, int y, Position position) {
+    int index = index(x, y);
+    int code = (position == null) ? 0 : paletteCode(position);
+    if (cells == null) {
+      if (code == 0) return;
+      cells = new byte[width * height];
+    }
+    cells[index] = (byte)code;
+  }
+  private int paletteCode(Position position) {
+    for (int code = 1; code < paletteSize; code++) if (palette[code] == position) return code;
+    Color color = position.getColor();
+    for (int code = 1; code < paletteSize; code++)
+      if (palette[code].getType() == position.getType() && (color == null ? palette[code].getColor() == null : color.equals(palette[code].getColor()))) return code;
+    if (paletteSize > MAX_PALETTE_SIZE) throw new IllegalStateException("Terrain cannot hold more than " + MAX_PALETTE_SIZE + " distinct grounds.");
+    if (paletteSize == palette.length) palette = Arrays.copyOf(palette, paletteSize * 2);
+    palette[paletteSize] = position; //interned: later cells of the same ground share this object
+    return paletteSize++;
+  }
+
+  //---CELLS---//
+  private int code(int x, int y) {
+    int index = index(x, y);
+    return (cells == null) ? 0 : (cells[index] & 0xFF);
+  }
+  private int index(int x, int y) {
+    if (x < 0 || x >= width || y < 0 || y >= height) throw new ArrayIndexOutOfBoundsException("Cell (" + x + "," + y + ") is off the terrain.");
+    return x * height + y;
+  }
+}
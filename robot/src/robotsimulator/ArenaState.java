@@ -0,0 +1,21 @@
+package robotsimulator;
+
+/**
+ * Read-only view of the arena at one tick: bot states, bullets and the explosions of the tick.
+ * Implemented by the live WorldSnapshot of a HeadlessEngine and by the decoded ReplayFrame of a recording.
+ */
+public interface ArenaState {
+  public int getTick();
+  public int getBotCount();
+  public double getBotX(int bot);
+  public double getBotY(int bot);
+  public double getBotHeading(int bot);
+  public double getBotHealth(int bot);
+  public boolean isBotDestroyed(int bot);
+  public int getBulletCount();
+  public double getBulletX(int i);
+  public double getBulletY(int i);
+  public int getExplosionCount();
+  public double getExplosionX(int i);
+  public double getExplosionY(int i);
+}
@@ -0,0 +1,147 @@
+package robotsimulator;
+
+import characteristics.IBrain;
+import characteristics.MatchConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-bot state the engine exposes to a brain beyond the robotsimulator.Brain API.
+ * HeadlessEngine installs the context of a bot on the calling thread while that bot's brain runs,
+ * so the engine-provided methods of Brain find it with a single ThreadLocal read, once: a brain keeps the context it
+ * was activated with. A brain running outside such an engine (the Swing SimulatorEngine of the jar, a unit harness...)
+ * gets a detached context on the default profile.
+ * The context also owns the bot's typed team inbox, refilled from the team log on every fetch.
+ * A detached context has no engine to route records, so it sends them as encoded Strings, or in the text form declared
+ * for their kind so that team mates reading Strings understand them, and decodes its String mailbox on fetch; radar
+ * scans are copied from the list API.
+ * Lazy log messages are dropped under HeadlessEngine, which has no log panel. A detached context leaves a marker
+ * in the brain's log slot instead, and the panel builds the message from the supplier when it next refreshes.
+ * Waiting for the next tick inside a step needs a thread of its own for the brain (HeadlessEngine.setThreadPerBrain()).
+ */
+public class BotContext {
+  //---HARD-CODED-PARAMETERS---//
+  private static final String LAZY_LOG = "..."; //content of the markers, shown as is by a panel that does not resolve them
+
+  //---VARIABLES---//
+  private static final ThreadLocal<BotContext> CURRENT = new ThreadLocal<BotContext>();
+  private static final Map<IBrain, BotContext> DETACHED = Collections.synchronizedMap(new WeakHashMap<IBrain, BotContext>());
+  private final IBrain brain;
+  private final MatchConfig config;
+  private final Random random;
+  private final HeadlessBot bot; //null when detached
+  private final TeamInbox inbox;
+  private final TextForms textForms; //declarations of a detached context; an attached one declares in its team log
+  private final String logMarker; //stands for logMessage in the brain's log slot, recognized by identity
+  private volatile Supplier<String> logMessage;
+
+  //---CONSTRUCTORS---//
+  BotContext(IBrain brain, MatchConfig config, Random random, HeadlessBot bot) {
+    this.brain = brain;
+    this.config = config;
+    this.random = random;
+    this.bot = bot;
+    this.inbox = new TeamInbox();
+    this.textForms = (bot == null) ? new TextForms() : null;
+    this.logMarker = new String(LAZY_LOG);
+  }
+
+  //---GET/SETTERS---//
+  public MatchConfig getMatchConfig() { return config; }
+  public Random getRandom() { return random; }
+
+  //---SEEDING---//
+  static long botSeed(long matchSeed, int bot) { //SplitMix64 finalizer: neighbouring bots get uncorrelated streams
+    long z = matchSeed + (bot + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  //---LOOKUP---//
+  public static BotContext of(IBrain brain) {
+    BotContext context = CURRENT.get();
+    if (context != null && context.brain == brain) return context;
+    synchronized (DETACHED) {
+      context = DETACHED.get(brain);
+      if (context == null) {
+        context = new BotContext(brain, MatchConfig.DEFAULT, new Random(), null); //unseeded, as the jar engine is not reproducible anyway
+        DETACHED.put(brain, context);
+      }
+    }
+    return context;
+  }
+
+  //---TEAM-MESSAGES---//
+  public void broadcast(int kind, int sender, double a, double b, double c, double d) {
+    if (bot != null) bot.broadcast(kind, sender, a, b, c, d);
+    else {
+      String text = textForms.render(kind, sender, a, b, c, d);
+      brain.broadcast((text != null) ? text : TeamInbox.encode(kind, sender, a, b, c, d));
+    }
+  }
+  public void declareTextForm(int kind, String tag) {
+    if (bot != null) bot.declareTextForm(kind, tag);
+    else textForms.declare(kind, tag);
+  }
+  public TeamInbox fetchTeamMessages() {
+    inbox.clear();
+    if (bot != null) bot.drainMessages(inbox);
+    else {
+      ArrayList<String> messages = brain.fetchAllMessages();
+      for (String message : messages) if (!textForms.decode(message, inbox)) inbox.addDecoded(message);
+    }
+    return inbox;
+  }
+
+  //---SENSORS---//
+  public RadarScan detectRadar(RadarScan scan) {
+    if (bot != null) bot.detectRadar(scan);
+    else {
+      scan.clear();
+      scan.addAll(brain.detectRadar());
+    }
+    return scan;
+  }
+
+  //---TICKS---//
+  public void awaitNextTick() {
+    if (bot == null) throw new IllegalStateException("Only a brain on its own thread can wait for the next tick.");
+    bot.awaitNextTick();
+  }
+
+  //---LOG-MESSAGES---//
+  public void sendLogMessage(Supplier<String> message) {
+    if (bot != null) return; //nobody reads it: never evaluated
+    logMessage = message;
+    brain.sendLogMessage(logMarker);
+  }
+  /** Text to display for the log message of a bot, building it if the brain sent it lazily. Called by the log panel. */
+  public static String resolveLogMessage(String message) {
+    if (message == null || !message.equals(LAZY_LOG)) return message;
+    synchronized (DETACHED) {
+      for (BotContext context : DETACHED.values()) {
+        if (context.logMarker != message) continue;
+        Supplier<String> supplier = context.logMessage;
+        return (supplier == null) ? null : supplier.get();
+      }
+    }
+    return message;
+  }
+
+  //---THREAD-BINDING---//
+  static BotContext enter(BotContext context) {
+    BotContext previous = CURRENT.get();
+    CURRENT.set(context);
+    return previous;
+  }
+  static void exit(BotContext previous) {
+    if (previous == null) CURRENT.remove();
+    else CURRENT.set(previous);
+  }
+}
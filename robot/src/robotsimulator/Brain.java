@@ -0,0 +1,112 @@
+/* ******************************************************
+ * Simovies - Eurobot 2015 Robomovies Simulator.
+ * Copyright (C) 2014 <Binh-Minh.Bui-Xuan@ens-lyon.org>.
+ * GPL version>=3 <http://www.gnu.org/licenses/>.
+ * ******************************************************/
+package robotsimulator;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import characteristics.IBrain;
+import characteristics.IRadarResult;
+import characteristics.MatchConfig;
+import characteristics.Parameters;
+
+/**
+ * Base class of every brain: the simulator-provided half of IBrain.
+ * A brain records one command per step; it is handed to the bot once step() returns, and firing then leaves the gun
+ * cold for 20 steps. A brain that waits for the next tick inside its step() (awaitNextTick(), under
+ * HeadlessEngine.setThreadPerBrain()) hands its command over at that point instead, through issueCommand().
+ */
+public abstract class Brain implements IBrain {
+  //---VARIABLES---//
+  private Command currentCmd;
+  private Bot bot;
+  private String logMessage;
+  private int counter; //steps until the gun can fire again
+  private int counterBefore; //counter before the last command was carried out
+  private double fireDirection;
+  private BotContext context; //bound at activation; looked up on every call before that
+
+  //---CONSTRUCTORS---//
+  public Brain() {
+    counter = 0;
+    logMessage = "Ready to rumble.";
+  }
+
+  //---TEAM-PROVIDED-METHODS---//
+  public abstract void activate();
+  public abstract void step();
+
+  //---SIMULATOR-PROVIDED-METHODS---//
+  public double getHeading() { return bot.getHeading(); }
+  public double getHealth() { return bot.getHealth(); }
+  public FrontSensorResult detectFront() { return bot.detectFront(); }
+  public ArrayList<IRadarResult> detectRadar() { return bot.detectRadar(); }
+  public void move() { currentCmd = Command.MOVE; }
+  public void moveBack() { currentCmd = Command.MOVEBACK; }
+  public void stepTurn(Parameters.Direction dir) { currentCmd = (dir == Parameters.Direction.RIGHT) ? Command.STEPTURNRIGHT : Command.STEPTURNLEFT; }
+  public void fire(double direction) {
+    currentCmd = Command.FIRE;
+    fireDirection = direction;
+  }
+  public void broadcast(String message) { bot.broadcast(message); }
+  public ArrayList<String> fetchAllMessages() { return bot.fetchAllMessages(); }
+  public void sendLogMessage(String message) { logMessage = message; }
+
+  //---ENGINE-PROVIDED-METHODS---//
+  //beyond IBrain, which stays the simulator-independent API: backed by the bot's BotContext
+  public MatchConfig getMatchConfig() { return context().getMatchConfig(); } //settings of the running match, MatchConfig.DEFAULT outside HeadlessEngine
+  public Random getRandom() { return context().getRandom(); } //random source of this bot, seeded from MatchConfig.getSeed() and the bot slot: same seed, same match
+  public void broadcast(int kind, int sender, double a, double b, double c, double d) { context().broadcast(kind, sender, a, b, c, d); } //typed message to all team mates: no formatting or allocation in HeadlessEngine
+  public void declareTextForm(int kind, String tag) { context().declareTextForm(kind, tag); } //typed messages of this kind reach team mates reading fetchAllMessages() as "tag|sender|a|b|c|d"; declared by the senders, and by the readers for the Swing engine
+  public void sendLogMessage(Supplier<String> message) { context().sendLogMessage(message); } //log message built only when the log panel displays it, never under HeadlessEngine
+  public RadarScan detectRadar(RadarScan scan) { return context().detectRadar(scan); } //detectRadar() into a buffer owned by the brain, as primitive arrays: no list or result objects
+  public TeamInbox fetchTeamMessages() { return context().fetchTeamMessages(); } //typed messages and String broadcasts (TeamInbox.TEXT) received since last fetch; the inbox is reused by the next call. Under HeadlessEngine it does not consume what fetchAllMessages() returns, nor the reverse
+  public void awaitNextTick() { context().awaitNextTick(); } //ends this tick's turn with the command given so far and returns at the next tick, within the same step(); needs HeadlessEngine.setThreadPerBrain()
+  private BotContext context() { return (context != null) ? context : BotContext.of(this); }
+
+  //---ENGINE-SIDE---//
+  protected void bind(Bot bot) { this.bot = bot; }
+  protected String getLogMessage() { return logMessage; }
+  protected void activation() {
+    currentCmd = Command.NONE;
+    context = BotContext.of(this);
+    activate();
+    action();
+  }
+  protected void stepAction() {
+    currentCmd = Command.NONE;
+    step();
+    action();
+  }
+  void revokeCommand() { //the last command was dropped by the engine: a shot it fired no longer cools the gun down
+    counter = Math.max(counterBefore - 1, 0);
+  }
+  void issueCommand() { //the step goes on at the next tick: this tick's command goes out now
+    action();
+    currentCmd = Command.NONE;
+  }
+  private void action() {
+    counterBefore = counter;
+    if (bot.getHealth() <= 0.0) return;
+    switch (currentCmd) {
+      case MOVE: bot.move(); break;
+      case MOVEBACK: bot.moveBack(); break;
+      case STEPTURNLEFT: bot.stepTurnLeft(); break;
+      case STEPTURNRIGHT: bot.stepTurnRight(); break;
+      case FIRE:
+        if (counter < 1 && bot.hasRocket()) {
+          bot.fire(fireDirection);
+          counter = 21;
+        }
+        break;
+      default: break;
+    }
+    counter = Math.max(counter - 1, 0);
+  }
+
+  private enum Command { NONE, MOVE, MOVEBACK, STEPTURNLEFT, STEPTURNRIGHT, FIRE }
+}
@@ -0,0 +1,88 @@
+package robotsimulator;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Threads on which the brains of a two-phase HeadlessEngine take their decisions, all bots of a tick at once.
+ * The calling thread works along with the helpers and returns once every bot has decided. Bots are handed out
+ * one at a time from a shared counter, so a slow brain holds up its own thread only. Helpers are daemons that
+ * exit after a second idle, as the watchdog's do; one still on its way back from the last tick is not waited for.
+ * A brain that throws does not stop the others: the first exception of the tick is rethrown once they are done.
+ */
+class BrainPool implements BrainScheduler {
+  //---HARD-CODED-PARAMETERS---//
+  private static final ThreadFactory DAEMONS = new ThreadFactory() {
+    public Thread newThread(Runnable task) {
+      Thread thread = new Thread(task, "brain-pool-worker");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  //---VARIABLES---//
+  private final int threads;
+  private final ThreadPoolExecutor helpers;
+  private final AtomicInteger next; //index of the next bot to hand out
+  private final AtomicReference<Throwable> failure;
+  private final Runnable helperTask;
+  private ArrayList<Bot> bots; //bots and latch of the running tick, published to the helpers by execute()
+  private boolean activation;
+  private CountDownLatch done;
+
+  //---CONSTRUCTORS---//
+  BrainPool(int threads) {
+    this.threads = threads;
+    this.helpers = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), DAEMONS);
+    this.next = new AtomicInteger();
+    this.failure = new AtomicReference<Throwable>();
+    this.helperTask = new Runnable() {
+      public void run() {
+        try {
+          work();
+        } finally {
+          done.countDown();
+        }
+      }
+    };
+  }
+
+  //---EXECUTION---//
+  public void decide(ArrayList<Bot> bots, boolean activation) {
+    this.bots = bots;
+    this.activation = activation;
+    int helping = Math.min(threads, bots.size()) - 1;
+    done = new CountDownLatch(helping);
+    next.set(0);
+    failure.set(null);
+    for (int i = 0; i < helping; i++) helpers.execute(helperTask);
+    work();
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the brains.", e);
+    }
+    Throwable cause = failure.get();
+    if (cause == null) return;
+    if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+    if (cause instanceof Error) throw (Error)cause;
+    throw new IllegalStateException(cause);
+  }
+  private void work() {
+    for (int i = next.getAndIncrement(); i < bots.size(); i = next.getAndIncrement()) {
+      try {
+        ((HeadlessBot)bots.get(i)).decide(activation);
+      } catch (Throwable e) {
+        failure.compareAndSet(null, e);
+      }
+    }
+  }
+  public void shutdown() { helpers.shutdown(); }
+}
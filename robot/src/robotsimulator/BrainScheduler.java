@@ -0,0 +1,13 @@
+package robotsimulator;
+
+import java.util.ArrayList;
+
+/**
+ * Runs the decision phase of a two-phase HeadlessEngine tick off the engine's own loop.
+ * BrainPool shares a few threads between the brains; BrainThreads gives every brain a thread of its own.
+ */
+interface BrainScheduler {
+  /** Lets every bot's brain decide its command and returns when all have. Commands are left for the engine to apply. */
+  void decide(ArrayList<Bot> bots, boolean activation);
+  void shutdown();
+}
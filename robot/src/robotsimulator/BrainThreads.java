@@ -0,0 +1,157 @@
+package robotsimulator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One thread per brain for a two-phase HeadlessEngine, virtual on runtimes that have them, daemon platform threads otherwise.
+ * Each brain thread is released once per tick by a Phaser that the engine shares with all of them, two phases per tick:
+ * the engine releases the brains, then waits for every one of them to have decided. A brain that calls
+ * Brain.awaitNextTick() ends its decision there and resumes at the same point on the next release, so a plan spread
+ * over several ticks is written as straight-line code in a single step().
+ * With a hang timeout, a brain still deciding that long after the release is cut off: the engine arrives in its place
+ * and deregisters it, and its thread leaves the match whenever it wakes up. Whoever clears the bot's deciding flag
+ * first, the brain or the engine, is the one that arrives.
+ */
+class BrainThreads implements BrainScheduler {
+  //---HARD-CODED-PARAMETERS---//
+  private static final MethodHandle VIRTUAL = virtualThreadFactory(); //null before virtual threads
+
+  //---VARIABLES---//
+  private final HeadlessBot[] bots;
+  private final Thread[] threads;
+  private final boolean[] activating; //whether the running decision of a bot is its activation, kept by the bot's thread
+  private final Phaser ticks; //the engine and every brain still in the match
+  private final AtomicIntegerArray deciding; //1 from a release until the bot's arrival is claimed, by its brain or by the engine
+  private final AtomicReference<Throwable> failure;
+  private final long timeout; //ns, 0 for no limit
+
+  //---CONSTRUCTORS---//
+  BrainThreads(ArrayList<Bot> bots, long timeout) {
+    this.bots = new HeadlessBot[bots.size()];
+    this.threads = new Thread[bots.size()];
+    this.activating = new boolean[bots.size()];
+    this.ticks = new Phaser(1 + bots.size());
+    this.deciding = new AtomicIntegerArray(bots.size());
+    this.failure = new AtomicReference<Throwable>();
+    this.timeout = timeout;
+    for (int i = 0; i < bots.size(); i++) {
+      final HeadlessBot bot = (HeadlessBot)bots.get(i);
+      this.bots[i] = bot;
+      threads[i] = newThread(new Runnable() {
+        public void run() { live(bot); }
+      }, "brain-" + i);
+      threads[i].start();
+    }
+  }
+  private static MethodHandle virtualThreadFactory() { //Thread.ofVirtual().unstarted(task), looked up at run time: the tree still builds on Java 17
+    try {
+      Class<?> builder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      MethodHandle of = MethodHandles.publicLookup().findStatic(Thread.class, "ofVirtual", MethodType.methodType(builder));
+      MethodHandle unstarted = MethodHandles.publicLookup().findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+      of.invoke(); //preview builds refuse here unless enabled
+      return MethodHandles.foldArguments(unstarted, of);
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+  private static Thread newThread(Runnable task, String name) {
+    Thread thread = null;
+    if (VIRTUAL != null) {
+      try {
+        thread = (Thread)VIRTUAL.invoke(task);
+      } catch (Throwable e) {
+        throw new IllegalStateException(e);
+      }
+    } else {
+      thread = new Thread(task);
+      thread.setDaemon(true);
+    }
+    thread.setName(name);
+    return thread;
+  }
+
+  //---ENGINE-SIDE---//
+  public void decide(ArrayList<Bot> bots, boolean activation) {
+    for (int i = 0; i < this.bots.length; i++) if (!this.bots[i].isCutOff()) deciding.set(i, 1);
+    ticks.arriveAndAwaitAdvance(); //release
+    int phase = ticks.arrive();
+    try {
+      if (timeout == 0) ticks.awaitAdvanceInterruptibly(phase);
+      else {
+        try {
+          ticks.awaitAdvanceInterruptibly(phase, timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          for (int i = 0; i < this.bots.length; i++) {
+            if (!deciding.compareAndSet(i, 1, 0)) continue;
+            this.bots[i].cutOff();
+            ticks.arriveAndDeregister();
+            threads[i].interrupt();
+          }
+          ticks.awaitAdvanceInterruptibly(phase);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the brains.", e);
+    }
+    Throwable cause = failure.getAndSet(null);
+    if (cause == null) return;
+    if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+    if (cause instanceof Error) throw (Error)cause;
+    throw new IllegalStateException(cause);
+  }
+  /** Ends the match for the brain threads: each one unwinds out of its brain at its next tick boundary. */
+  public void shutdown() { ticks.forceTermination(); }
+
+  //---BRAIN-SIDE---//
+  private void live(HeadlessBot bot) {
+    try {
+      awaitRelease();
+      activating[bot.getSlot()] = true;
+      while (true) {
+        bot.startDecision();
+        try {
+          bot.callBrain(activating[bot.getSlot()]);
+        } catch (Terminated e) {
+          throw e;
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+        endDecision(bot);
+      }
+    } catch (Terminated e) {
+      return; //match over, or the engine gave up on this brain
+    }
+  }
+  /** Called from Brain.awaitNextTick(): the command set so far is this tick's decision, and the brain resumes at the next tick. */
+  void awaitNextTick(HeadlessBot bot) {
+    if (Thread.currentThread() != threads[bot.getSlot()]) throw new IllegalStateException("Only a brain on its own thread can wait for the next tick.");
+    endDecision(bot);
+    bot.startDecision();
+  }
+  private void endDecision(HeadlessBot bot) {
+    if (!deciding.compareAndSet(bot.getSlot(), 1, 0)) throw new Terminated(); //cut off while deciding: the engine arrived for it
+    bot.endDecision(activating[bot.getSlot()]);
+    activating[bot.getSlot()] = false;
+    ticks.arriveAndAwaitAdvance(); //decided
+    awaitRelease();
+  }
+  private void awaitRelease() {
+    ticks.arriveAndAwaitAdvance();
+    if (ticks.isTerminated()) throw new Terminated();
+  }
+
+  /** Unwinds a brain thread through the brain code, which is not expected to catch Errors. */
+  private static final class Terminated extends Error {
+    private static final long serialVersionUID = 1L;
+    Terminated() { super(null, null, false, false); }
+  }
+}
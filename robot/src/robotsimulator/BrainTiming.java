@@ -0,0 +1,51 @@
+package robotsimulator;
+
+/**
+ * Time spent by one bot's brain over a match: activate() once, step() as a histogram,
+ * how many steps went over MatchConfig.getStepBudget() and whether the watchdog cut the brain off.
+ */
+public class BrainTiming {
+  //---VARIABLES---//
+  private long activation;
+  private final TimingHistogram steps;
+  private int overruns;
+  private int cutOffTick; //-1 while the brain is still running
+
+  //---CONSTRUCTORS---//
+  public BrainTiming() {
+    activation = 0;
+    steps = new TimingHistogram();
+    overruns = 0;
+    cutOffTick = -1;
+  }
+  public BrainTiming(BrainTiming other) {
+    activation = other.activation;
+    steps = new TimingHistogram(other.steps);
+    overruns = other.overruns;
+    cutOffTick = other.cutOffTick;
+  }
+
+  //---GET/SETTERS---//
+  public long getActivation() { return activation; }
+  public TimingHistogram getSteps() { return steps; }
+  public int getOverruns() { return overruns; } //steps whose command was dropped for going over budget
+  public boolean isCutOff() { return cutOffTick >= 0; }
+  public int getCutOffTick() { return cutOffTick; }
+
+  //---UPDATES---//
+  void recordActivation(long nanos) { activation = nanos; }
+  void recordStep(long nanos) { steps.record(nanos); }
+  void overrun() { overruns++; }
+  void cutOff(int tick) { cutOffTick = tick; }
+  void add(BrainTiming other) { //aggregates matches: activation becomes the longest one seen
+    activation = Math.max(activation, other.activation);
+    steps.add(other.steps);
+    overruns += other.overruns;
+    if (other.isCutOff() && !isCutOff()) cutOffTick = other.cutOffTick;
+  }
+
+  public String toString() {
+    return "activate " + TimingHistogram.format(activation) + ", step " + steps
+        + (overruns > 0 ? ", " + overruns + " over budget" : "") + (isCutOff() ? ", cut off at tick " + cutOffTick : "");
+  }
+}
@@ -0,0 +1,61 @@
+package robotsimulator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs brain code on a worker thread and gives up on it after MatchConfig.getHangTimeout().
+ * A Java thread cannot be killed safely, so a brain that hangs keeps its worker: the worker is interrupted and
+ * abandoned (it is a daemon), a fresh one takes the next calls, and the engine no longer steps that bot.
+ * Every call that finds no idle worker gets a new one, so the brains of a two-phase tick can be watched from
+ * several threads at once. Idle workers exit on their own after a second, so an engine that is dropped without
+ * run() finishing leaks nothing.
+ */
+class BrainWatchdog {
+  //---HARD-CODED-PARAMETERS---//
+  private static final ThreadFactory DAEMONS = new ThreadFactory() {
+    public Thread newThread(Runnable task) {
+      Thread thread = new Thread(task, "brain-watchdog-worker");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  //---VARIABLES---//
+  private final long timeout;
+  private final ThreadPoolExecutor workers;
+
+  //---CONSTRUCTORS---//
+  BrainWatchdog(long timeout) {
+    this.timeout = timeout;
+    this.workers = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), DAEMONS);
+  }
+
+  //---EXECUTION---//
+  /** Runs task on a worker; false if it did not return in time. Exceptions of the task are rethrown here. Thread-safe. */
+  boolean run(Runnable task) {
+    Future<?> result = workers.submit(task);
+    try {
+      result.get(timeout, TimeUnit.NANOSECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      result.cancel(true); //interrupts the worker, which stays busy for as long as the brain ignores it
+      return false;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+      if (cause instanceof Error) throw (Error)cause;
+      throw new IllegalStateException(cause);
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a brain.", e);
+    }
+  }
+  void shutdown() { workers.shutdown(); }
+}
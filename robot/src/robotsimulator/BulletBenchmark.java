@@ -0,0 +1,42 @@
+package robotsimulator;
+
+import characteristics.MatchConfig;
+
+import java.util.Random;
+
+/**
+ * Throughput of the bullet pass under heavy fire.
+ * Runs a default match while topping the arena up to a fixed number of live bullets every tick,
+ * shot from random points in random directions, and reports simulated ticks per second.
+ */
+public class BulletBenchmark {
+  public static void main(String[] args) {
+    int liveBullets = 500, ticks = 5000, warmup = 1000;
+    long seed = 0;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-bullets": liveBullets = Integer.parseInt(args[i + 1]); break;
+        case "-ticks": ticks = Integer.parseInt(args[i + 1]); break;
+        case "-warmup": warmup = Integer.parseInt(args[i + 1]); break;
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    MatchConfig config = MatchConfig.DEFAULT.withSeed(seed);
+    HeadlessEngine engine = new HeadlessEngine(config);
+    Random random = new Random(seed);
+    engine.startSimulation();
+    long start = 0, bulletTicks = 0;
+    for (int t = 0; t < warmup + ticks; t++) {
+      if (t == warmup) start = System.nanoTime();
+      while (engine.getBulletCount() < liveBullets)
+        engine.spawnBullet(random.nextDouble() * config.getArenaWidth(), random.nextDouble() * config.getArenaHeight(),
+                           random.nextDouble() * 2 * Math.PI);
+      engine.step();
+      if (t >= warmup) bulletTicks += engine.getBulletCount();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println(ticks + " ticks with " + (bulletTicks / ticks) + " live bullets on average: "
+        + String.format("%.2f", seconds) + " s (" + (long)(ticks / seconds) + " ticks/s)");
+  }
+}
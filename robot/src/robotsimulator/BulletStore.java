@@ -0,0 +1,92 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * Live bullets of a HeadlessEngine, kept as parallel primitive arrays instead of Bullet objects.
+ * Slots are appended on fire and flagged dead during the bullet pass; compact() then closes the gaps
+ * in a single stable sweep, so slot order stays the firing order that radar results and the
+ * bullet-versus-bullet resolution of SimulatorEngine depend on. Arrays only grow, never shrink:
+ * once the store has reached its peak size a tick allocates nothing.
+ */
+public class BulletStore {
+  //---VARIABLES---//
+  private double[] x, y, heading, stepX, stepY, radius;
+  private int[] counter;
+  private boolean[] dead;
+  private int size;
+
+  //---CONSTRUCTORS---//
+  public BulletStore() { this(64); }
+  public BulletStore(int capacity) {
+    x = new double[capacity];
+    y = new double[capacity];
+    heading = new double[capacity];
+    stepX = new double[capacity];
+    stepY = new double[capacity];
+    radius = new double[capacity];
+    counter = new int[capacity];
+    dead = new boolean[capacity];
+    size = 0;
+  }
+
+  //---GET/SETTERS---//
+  public int size() { return size; }
+  public double getX(int slot) { return x[slot]; }
+  public double getY(int slot) { return y[slot]; }
+  public double getHeading(int slot) { return heading[slot]; }
+  public double getRadius(int slot) { return radius[slot]; }
+  double getStepX(int slot) { return stepX[slot]; } //displacement per tick, as in Bullet.step()
+  double getStepY(int slot) { return stepY[slot]; }
+  public boolean isExpired(int slot) { return counter[slot] < 1; } //same test as Bullet.isDestroyed()
+  boolean isDead(int slot) { return dead[slot]; }
+
+  //---UPDATES---//
+  int add(double px, double py, double dir, double velocity, double r, double range) {
+    if (size == x.length) grow();
+    x[size] = px;
+    y[size] = py;
+    heading[size] = dir;
+    stepX[size] = velocity * Math.cos(dir);
+    stepY[size] = velocity * Math.sin(dir);
+    radius[size] = r;
+    counter[size] = (int)(range / velocity) + 1;
+    dead[size] = false;
+    return size++;
+  }
+  void step(int slot) {
+    x[slot] += stepX[slot];
+    y[slot] += stepY[slot];
+    counter[slot]--;
+  }
+  void kill(int slot) { dead[slot] = true; }
+  void compact() {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (dead[i]) continue;
+      if (kept != i) {
+        x[kept] = x[i];
+        y[kept] = y[i];
+        heading[kept] = heading[i];
+        stepX[kept] = stepX[i];
+        stepY[kept] = stepY[i];
+        radius[kept] = radius[i];
+        counter[kept] = counter[i];
+        dead[kept] = false;
+      }
+      kept++;
+    }
+    size = kept;
+  }
+  private void grow() {
+    int capacity = x.length * 2;
+    x = Arrays.copyOf(x, capacity);
+    y = Arrays.copyOf(y, capacity);
+    heading = Arrays.copyOf(heading, capacity);
+    stepX = Arrays.copyOf(stepX, capacity);
+    stepY = Arrays.copyOf(stepY, capacity);
+    radius = Arrays.copyOf(radius, capacity);
+    counter = Arrays.copyOf(counter, capacity);
+    dead = Arrays.copyOf(dead, capacity);
+  }
+}
@@ -0,0 +1,137 @@
+package robotsimulator;
+
+import characteristics.MatchConfig;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Checks the bullet pass of HeadlessEngine on its BulletStore against the pass on a list of Bullet objects it replaces.
+ * A default engine is built but not started, so the bots stand at their starting positions; every tick tops the arena
+ * up with seeded random bullets, some on the line of a live bullet (following it or head-on, close by or far along the
+ * line), some aimed at a bot and some on top of another bullet. The same bullets go into an ArrayList of Bullet, run
+ * through the list pass of SimulatorEngine: expired bullets removed, the restarting pairwise scan, then a step and a
+ * hit test against every bot in list order. After each advanceBullets() the store must hold the same bullets in the
+ * same order at the same coordinates, bit for bit, with the same explosions and the same bot health.
+ * Prints the first difference and exits with status 1, or a summary when every tick matches.
+ */
+public class BulletStoreCheck {
+  public static void main(String[] args) {
+    int ticks = 5000, liveBullets = 300;
+    long seed = 0;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-ticks": ticks = Integer.parseInt(args[i + 1]); break;
+        case "-bullets": liveBullets = Integer.parseInt(args[i + 1]); break;
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    MatchConfig config = MatchConfig.DEFAULT.withSeed(seed);
+    HeadlessEngine engine = new HeadlessEngine(config);
+    Random random = new Random(seed);
+    ArrayList<Bullet> expected = new ArrayList<Bullet>();
+    ArrayList<Bot> bots = engine.getBots();
+    double[] health = new double[bots.size()];
+    for (int i = 0; i < health.length; i++) health[i] = bots.get(i).getHealth();
+    ArrayList<double[]> explosions = new ArrayList<double[]>();
+    long bulletTicks = 0, cancelled = 0, hits = 0;
+    for (int t = 0; t < ticks; t++) {
+      while (expected.size() < liveBullets) fire(engine, expected, random);
+      bulletTicks += expected.size();
+      cancelled += listPass(config, expected, bots, health, explosions);
+      hits += explosions.size();
+      engine.advanceBullets();
+
+      BulletStore bullets = engine.getBullets();
+      if (bullets.size() != expected.size()) fail(t, bullets.size() + " bullets instead of " + expected.size());
+      for (int i = 0; i < bullets.size(); i++) {
+        Bullet b = expected.get(i);
+        if (bullets.getX(i) != b.getX() || bullets.getY(i) != b.getY() || bullets.getHeading(i) != b.getHeading())
+          fail(t, "bullet " + i + " at (" + bullets.getX(i) + "," + bullets.getY(i) + ") instead of (" + b.getX() + "," + b.getY() + ")");
+      }
+      if (engine.getExplosionCount() != explosions.size()) fail(t, engine.getExplosionCount() + " explosions instead of " + explosions.size());
+      for (int i = 0; i < explosions.size(); i++) {
+        if (engine.getExplosionX(i) != explosions.get(i)[0] || engine.getExplosionY(i) != explosions.get(i)[1]) fail(t, "explosion " + i + " misplaced");
+      }
+      for (int i = 0; i < health.length; i++) {
+        if (bots.get(i).getHealth() != health[i]) fail(t, "bot " + i + " has " + bots.get(i).getHealth() + " health instead of " + health[i]);
+      }
+    }
+    System.out.println(ticks + " ticks with " + (bulletTicks / ticks) + " live bullets on average: " + cancelled
+        + " cancelled bullets and " + hits + " hits, as the list pass finds them");
+  }
+
+  //---FIRE---//
+  private static void fire(HeadlessEngine engine, ArrayList<Bullet> expected, Random random) {
+    MatchConfig config = engine.getMatchConfig();
+    double x = random.nextDouble() * config.getArenaWidth(), y = random.nextDouble() * config.getArenaHeight(), dir = random.nextDouble() * 2 * Math.PI;
+    int kind = random.nextInt(20);
+    if (kind < 4 && !expected.isEmpty()) { //on the line of a live bullet, following it or head-on, close by or far along the line
+      Bullet other = expected.get(random.nextInt(expected.size()));
+      double along = (random.nextDouble() * 4 - 2) * config.getBulletVelocity() * (random.nextBoolean() ? 1 : 30);
+      dir = other.getHeading() + (random.nextBoolean() ? 0.0 : Math.PI);
+      x = other.getX() + along * Math.cos(other.getHeading());
+      y = other.getY() + along * Math.sin(other.getHeading());
+    } else if (kind < 8) { //at a bot, from a few ticks away
+      Bot bot = engine.getBots().get(random.nextInt(engine.getBots().size()));
+      double from = random.nextDouble() * 2 * Math.PI, distance = bot.getRadius() + random.nextDouble() * 20 * config.getBulletVelocity();
+      x = bot.getX() + distance * Math.cos(from);
+      y = bot.getY() + distance * Math.sin(from);
+      dir = from + Math.PI + (random.nextDouble() - 0.5) * 0.2;
+    } else if (kind < 9 && !expected.isEmpty()) { //on top of a live bullet
+      Bullet other = expected.get(random.nextInt(expected.size()));
+      x = other.getX();
+      y = other.getY();
+    }
+    engine.spawnBullet(x, y, dir);
+    expected.add(new Bullet(x, y, dir, config.getBulletVelocity(), config.getBulletDamage(), config.getBulletRadius(), config.getBulletRange()));
+  }
+
+  //---REFERENCE---//
+  //SimulatorEngine's pass on a list of Bullet; fills the explosions and the bot health it leaves, returns the bullets cancelled out
+  private static int listPass(MatchConfig config, ArrayList<Bullet> bullets, ArrayList<Bot> bots, double[] health, ArrayList<double[]> explosions) {
+    for (int i = 0; i < bullets.size(); i++) {
+      if (!bullets.get(i).isDestroyed()) continue;
+      bullets.remove(i);
+      i--;
+    }
+    int cancelled = 0;
+    for (int i = 0; i < bullets.size(); i++) {
+      for (int j = i + 1; j < bullets.size(); j++) {
+        Bullet b = bullets.get(i), c = bullets.get(j);
+        if (!HeadlessEngine.segmentCollision(b.getX(), b.getY(), b.getVelocity() * Math.cos(b.getHeading()), b.getVelocity() * Math.sin(b.getHeading()),
+                                             c.getX(), c.getY(), c.getVelocity() * Math.cos(c.getHeading()), c.getVelocity() * Math.sin(c.getHeading()))) continue;
+        bullets.remove(j);
+        bullets.remove(i);
+        cancelled += 2;
+        i = 0;
+        j = 0;
+      }
+    }
+    explosions.clear();
+    bulletLoop:
+    for (int k = 0; k < bullets.size(); k++) {
+      Bullet b = bullets.get(k);
+      b.step();
+      for (int i = 0; i < bots.size(); i++) {
+        Bot bot = bots.get(i);
+        double r = b.getRadius() + bot.getRadius();
+        if (!((b.getX() - bot.getX()) * (b.getX() - bot.getX()) + (b.getY() - bot.getY()) * (b.getY() - bot.getY()) < r * r)) continue;
+        health[i] = Math.max(health[i] - b.getDamage(), 0.0);
+        explosions.add(new double[] { bot.getX() + 1.1 * (bot.getRadius() + config.getBulletRadius()) * Math.cos(Math.PI + b.getHeading()),
+                                      bot.getY() + 1.1 * (bot.getRadius() + config.getBulletRadius()) * Math.sin(Math.PI + b.getHeading()) });
+        bullets.remove(k);
+        k--;
+        continue bulletLoop;
+      }
+    }
+    return cancelled;
+  }
+
+  //---REPORTING---//
+  private static void fail(int tick, String difference) {
+    System.out.println("Tick " + tick + ": " + difference + ".");
+    System.exit(1);
+  }
+}
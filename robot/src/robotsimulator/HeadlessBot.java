@@ -0,0 +1,270 @@
+package robotsimulator;
+
+import characteristics.IFrontSensorResult;
+import characteristics.IRadarResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bot driven by a HeadlessEngine instead of a SimulatorEngine.
+ * The parent keeps its own copy of the kinematic state private and hard-wires the Swing engine,
+ * so every method touching position, health, sensors or mailbox is re-implemented here
+ * with the exact same arithmetic as robotsimulator.Bot.
+ * The command chosen by the brain is held until its step() returns and is then carried out, unless the step
+ * went over the budget of the match; every call is timed into a BrainTiming.
+ * Under a two-phase tick the engine asks all brains to decide() before it applies any command, and broadcasts wait
+ * in an outbox until the command is applied, so nothing a brain does is seen by another brain within the tick.
+ * A bot run on its own thread by BrainThreads goes through the same decision steps, driven from that thread.
+ * Team messages are read from the team's TeamLog through two cursors, one per fetch API: fetchAllMessages() gets
+ * the String broadcasts, fetchTeamMessages() gets typed records and String broadcasts alike, and neither consumes
+ * what the other one reads. A brain holds back the log only through the APIs it has called: one that never fetches
+ * (a broadcast-only brain) holds nothing, and its first fetch starts from the oldest entry still kept.
+ * Sensor results are memoized until the engine reports a change of the world, so a brain polling its radar or
+ * front sensor several times in a step gets the same snapshot back. The radar is scanned into a RadarScan,
+ * copied into the brain's own buffer by Brain.detectRadar(RadarScan) and turned into results only for brains
+ * that still call detectRadar(); those results are built once per snapshot and each call gets its own list of them,
+ * so a brain may remove from or sort the list it was given without changing its later readings.
+ */
+class HeadlessBot extends Bot {
+  //---HARD-CODED-PARAMETERS---//
+  private static final int NONE = 0, MOVE = 1, MOVE_BACK = 2, TURN_LEFT = 3, TURN_RIGHT = 4, FIRE = 5;
+  private static final FrontSensorResult NOTHING_AHEAD = new FrontSensorResult(IFrontSensorResult.Types.NOTHING);
+
+  //---VARIABLES---//
+  private final HeadlessEngine engine;
+  private final Brain brain;
+  private final BotContext context;
+  private final BrainTiming timing;
+  private final Runnable activateTask, stepTask; //brain calls handed to the watchdog
+  private final TeamInbox outbox; //broadcasts of a two-phase decision, null when broadcasts go out at once
+  private int command;
+  private long decisionStart;
+  private double fireDirection;
+  private volatile boolean cutOff; //read by the abandoned thread of a hung brain
+  private final int slot;
+  private final SpatialGrid.Hits hits; //scratch space of this bot's grid queries
+  private final double frontRange, speed, stepTurnAngle;
+  private double x, y, angle, health;
+  private final TeamLog teamLog;
+  private long textCursor, typedCursor; //sequence number of the first team log entry not fetched yet by fetchAllMessages(), by fetchTeamMessages()
+  private boolean readsText, readsTyped; //fetch APIs the brain has called: only their cursors hold back the team log
+  private final RadarScan radarSnapshot;
+  private List<IRadarResult> radarList; //radarSnapshot as RadarResult objects, built on demand and never handed out
+  private FrontSensorResult frontSnapshot;
+  private long radarVersion, radarListVersion, frontVersion; //world version the snapshots were taken at
+
+  //---CONSTRUCTORS---//
+  protected HeadlessBot(HeadlessEngine engine, int slot, double radius, double range, double speed, double stepTurnAngle,
+                        double x, double y, double angle, double health, boolean rocket, Brain brain, int me, long seed) {
+    super(radius, range, speed, stepTurnAngle, x, y, angle, health, rocket, brain, me);
+    this.engine = engine;
+    this.brain = brain;
+    this.slot = slot;
+    this.hits = new SpatialGrid.Hits();
+    this.context = new BotContext(brain, engine.getMatchConfig(), new Random(seed), this);
+    this.frontRange = range;
+    this.speed = speed;
+    this.stepTurnAngle = stepTurnAngle;
+    this.x = x;
+    this.y = y;
+    this.angle = angle;
+    this.health = health;
+    this.teamLog = engine.getTeamLog(me);
+    this.textCursor = 0;
+    this.typedCursor = 0;
+    this.radarSnapshot = new RadarScan();
+    this.radarVersion = -1;
+    this.radarListVersion = -1;
+    this.frontVersion = -1;
+    this.timing = new BrainTiming();
+    this.activateTask = new Runnable() {
+      public void run() { callBrain(true); }
+    };
+    this.stepTask = new Runnable() {
+      public void run() { callBrain(false); }
+    };
+    this.outbox = engine.getMatchConfig().isTwoPhaseTick() ? new TeamInbox() : null;
+    this.command = NONE;
+    this.cutOff = false;
+  }
+
+  //---LIFECYCLE---//
+  public void activate() {
+    runBrain(true);
+    applyCommand();
+  }
+  public void step() {
+    runBrain(false);
+    applyCommand();
+  }
+  void decide(boolean activation) { runBrain(activation); } //two-phase tick: the engine applies the command once every bot has decided
+  void awaitNextTick() {
+    BrainThreads threads = engine.getBrainThreads();
+    if (threads == null) throw new IllegalStateException("Only a brain on its own thread can wait for the next tick.");
+    brain.issueCommand();
+    threads.awaitNextTick(this);
+  }
+  private void runBrain(boolean activation) {
+    if (cutOff) return;
+    startDecision();
+    BrainWatchdog watchdog = engine.getWatchdog();
+    boolean finished = true;
+    if (watchdog == null) callBrain(activation);
+    else finished = watchdog.run(activation ? activateTask : stepTask);
+    if (finished) endDecision(activation);
+    else cutOff();
+  }
+  void startDecision() {
+    command = NONE;
+    decisionStart = System.nanoTime();
+  }
+  void endDecision(boolean activation) {
+    long elapsed = System.nanoTime() - decisionStart;
+    if (activation) timing.recordActivation(elapsed);
+    else {
+      timing.recordStep(elapsed);
+      long budget = engine.getMatchConfig().getStepBudget();
+      if (budget > 0 && elapsed > budget) { //the command of a late step is forfeited, and a forfeited shot does not heat the gun
+        timing.overrun();
+        command = NONE;
+        brain.revokeCommand();
+      }
+    }
+  }
+  void cutOff() { //the brain is left running, but the engine no longer steps or hears from it
+    cutOff = true;
+    timing.cutOff(engine.getTick());
+  }
+  void callBrain(boolean activation) {
+    BotContext previous = BotContext.enter(context);
+    try {
+      if (activation) super.activate();
+      else super.step();
+    } finally {
+      BotContext.exit(previous);
+    }
+  }
+  void applyCommand() {
+    if (cutOff) return;
+    if (outbox != null) sendOutbox();
+    switch (command) {
+      case MOVE: moveTo(x + speed * Math.cos(angle), y + speed * Math.sin(angle)); break;
+      case MOVE_BACK: moveTo(x - speed * Math.cos(angle), y - speed * Math.sin(angle)); break;
+      case TURN_LEFT: angle -= stepTurnAngle; engine.worldChanged(); break;
+      case TURN_RIGHT: angle += stepTurnAngle; engine.worldChanged(); break;
+      case FIRE: engine.addBullet(this, fireDirection); break;
+      default: break;
+    }
+    command = NONE;
+  }
+
+  //---GET/SETTERS---//
+  int getSlot() { return slot; } //index in HeadlessEngine.getBots()
+  BrainTiming getTiming() { return timing; }
+  BotContext getContext() { return context; }
+  public double getX() { return x; }
+  public double getY() { return y; }
+  public double getHeading() { return angle; }
+  public double getHealth() { return health; }
+  public void takeDamage(double damage) { health = Math.max(health - damage, 0.0); }
+  public boolean isDestroyed() { return health <= 0.0; }
+
+  //---ACTIONS---//
+  protected void move() { command = MOVE; }
+  protected void moveBack() { command = MOVE_BACK; }
+  private void moveTo(double newX, double newY) {
+    double radius = getRadius();
+    if (!(newX >= radius && newX <= engine.getWorldWidth() - radius && newY >= radius && newY <= engine.getWorldHeight() - radius)) return;
+    if (!engine.isFree(this, newX, newY, hits)) return;
+    engine.botMoved(slot, x, y, newX, newY);
+    x = newX;
+    y = newY;
+  }
+  protected void fire(double dir) {
+    command = FIRE;
+    fireDirection = dir;
+  }
+  protected void stepTurnLeft() { command = TURN_LEFT; }
+  protected void stepTurnRight() { command = TURN_RIGHT; }
+
+  //---COMMUNICATION---//
+  protected void broadcast(String message) {
+    if (cutOff) return;
+    if (outbox != null) outbox.addText(message);
+    else engine.broadcast(message, this);
+  }
+  protected ArrayList<String> fetchAllMessages() { //the Brain API hands out a list the brain owns: sized once, empty lists share no array
+    if (!isReading()) return new ArrayList<String>(0);
+    readsText = true;
+    ArrayList<String> messages = new ArrayList<String>(teamLog.countTexts(textCursor));
+    textCursor = teamLog.readTexts(textCursor, messages);
+    return messages;
+  }
+  void broadcast(int kind, int sender, double a, double b, double c, double d) {
+    if (cutOff) return;
+    if (outbox != null) outbox.add(kind, sender, a, b, c, d);
+    else engine.broadcast(kind, sender, a, b, c, d, this);
+  }
+  void declareTextForm(int kind, String tag) { teamLog.getTextForms().declare(kind, tag); } //for the whole team, at once
+  private void sendOutbox() { //in the order the brain broadcast, ahead of the command as in a one-phase tick
+    for (int i = 0; i < outbox.size(); i++) {
+      if (outbox.getKind(i) == TeamInbox.TEXT) engine.broadcast(outbox.getText(i), this);
+      else engine.broadcast(outbox.getKind(i), outbox.getSender(i), outbox.getField(i, 0), outbox.getField(i, 1), outbox.getField(i, 2), outbox.getField(i, 3), this);
+    }
+    outbox.clear();
+  }
+  void drainMessages(TeamInbox inbox) { //typed fetch: records and String broadcasts alike, in broadcast order, whatever fetchAllMessages() has read
+    if (!isReading()) return;
+    readsTyped = true;
+    typedCursor = teamLog.readAll(typedCursor, inbox);
+  }
+  boolean isCutOff() { return cutOff; }
+  boolean isReading() { //destroyed and cut-off bots stop reading, so they do not hold back the team log
+    if (cutOff || isDestroyed()) {
+      textCursor = Long.MAX_VALUE;
+      typedCursor = Long.MAX_VALUE;
+      return false;
+    }
+    return true;
+  }
+  long getReadCursor() { //oldest entry the brain may still fetch: none until its first fetch, which starts from the oldest entry kept
+    if (!readsText) return readsTyped ? typedCursor : Long.MAX_VALUE;
+    return readsTyped ? Math.min(textCursor, typedCursor) : textCursor;
+  }
+
+  //---SENSORS---//
+  //a cut-off brain may still be running on its abandoned thread while the engine moves on: it senses nothing
+  protected FrontSensorResult detectFront() {
+    if (cutOff) return NOTHING_AHEAD;
+    if (frontVersion != engine.getWorldVersion()) {
+      frontSnapshot = engine.detect(x, y, x + frontRange * Math.cos(angle), y + frontRange * Math.sin(angle), getTeam(), hits);
+      frontVersion = engine.getWorldVersion();
+    }
+    return frontSnapshot;
+  }
+  protected ArrayList<IRadarResult> detectRadar() {
+    if (cutOff) return new ArrayList<IRadarResult>(0);
+    scanRadar();
+    if (radarListVersion != radarVersion) {
+      radarList = Collections.unmodifiableList(radarSnapshot.toList());
+      radarListVersion = radarVersion;
+    }
+    return new ArrayList<IRadarResult>(radarList); //the Brain API hands out an ArrayList the brain owns
+  }
+  void detectRadar(RadarScan into) {
+    if (cutOff) {
+      into.clear();
+      return;
+    }
+    scanRadar();
+    into.copyFrom(radarSnapshot);
+  }
+  private void scanRadar() {
+    if (radarVersion == engine.getWorldVersion()) return;
+    engine.detectRadar(frontRange, this, hits, radarSnapshot);
+    radarVersion = engine.getWorldVersion();
+  }
+}
@@ -0,0 +1,484 @@
+package robotsimulator;
+
+import characteristics.IBrain;
+import characteristics.IFrontSensorResult;
+import characteristics.IRadarResult;
+import characteristics.MatchConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import supportGUI.FileLoader;
+
+/**
+ * GUI-less counterpart of SimulatorEngine.
+ * Same ten bots, same movement, sensor and bullet rules, but no Swing timer, DisplayGame or LogMessage:
+ * each call to step() advances the match by one tick, so a match runs as fast as the CPU allows.
+ * The bullet pass that SimulatorEngine performs from DisplayGame.paintComponent() is done here
+ * once per tick, right after the bots, as happens in the viewer when painting keeps up with the clock.
+ * With MatchConfig.isTwoPhaseTick(), bots no longer step one after another: every brain first decides on the world
+ * as the tick began, possibly on several threads (setBrainThreads(), setThreadPerBrain()), then the commands are applied one by one in
+ * an order shuffled every tick from the match seed. The match then depends on the seed only, not on the thread count,
+ * and no bot gets the first say on contested moves every tick because of its place in the bot list.
+ */
+public class HeadlessEngine {
+  //---HARD-CODED-PARAMETERS---//
+  public static final int TEAM_A = 5367678, //team identifiers used by SimulatorEngine
+                          TEAM_B = 15539326;
+  public static final int DEFAULT_TICK_LIMIT = 20000;
+  private static final double GRID_CELL_SIZE = 250; //about half the longest sensor range: a radar query spans a few cells per axis
+
+  //---VARIABLES---//
+  private final MatchConfig config;
+  private ArrayList<Bot> bots;
+  private BulletStore bullets;
+  private double[] explosionX, explosionY; //impact points of the last bullet pass
+  private int explosionCount;
+  private SpatialGrid botGrid, bulletGrid; //indices in bots and bullets, bucketed by center
+  private SpatialGrid.Hits bulletHits;
+  private SweepAndPrune bulletPairs; //broadphase of the bullet-versus-bullet pass
+  private final TeamLog teamALog, teamBLog; //broadcasts, written once per team and read through per-bot cursors
+  private ReplayRecorder recorder; //null when the match is not recorded
+  private WorldSnapshot[] snapshotBuffers; //null until a reader asks for snapshots
+  private volatile WorldSnapshot snapshot; //one of snapshotBuffers, the other one being refilled
+  private final BrainWatchdog watchdog; //null unless the configuration sets a hang timeout
+  private BrainScheduler brainScheduler; //null when two-phase decisions are taken on the calling thread
+  private int[] applyOrder; //slots in the order commands are applied, null unless ticks run in two phases
+  private Random applyShuffle;
+  private boolean started;
+  private int tick;
+  private long worldVersion; //bumped by every change a sensor can see; keys the per-bot sensor snapshots
+
+  //---CONSTRUCTORS---//
+  public HeadlessEngine() { this(MatchConfig.DEFAULT); }
+  public HeadlessEngine(MatchConfig config) { this(new FileLoader(config)); }
+  public HeadlessEngine(FileLoader loader) {
+    config = loader.getMatchConfig();
+    watchdog = (config.getHangTimeout() > 0) ? new BrainWatchdog(config.getHangTimeout()) : null;
+    bullets = new BulletStore();
+    explosionX = new double[16];
+    explosionY = new double[16];
+    explosionCount = 0;
+    bots = new ArrayList<Bot>();
+    botGrid = new SpatialGrid(config.getArenaWidth(), config.getArenaHeight(), GRID_CELL_SIZE);
+    bulletGrid = new SpatialGrid(config.getArenaWidth(), config.getArenaHeight(), GRID_CELL_SIZE);
+    bulletHits = new SpatialGrid.Hits();
+    bulletPairs = new SweepAndPrune();
+    teamALog = new TeamLog();
+    teamBLog = new TeamLog();
+    MatchConfig.BotProfile aMain = config.getTeamAMainBot(), aSecondary = config.getTeamASecondaryBot(),
+                           bMain = config.getTeamBMainBot(), bSecondary = config.getTeamBSecondaryBot();
+    for (int i = 0; i < aMain.getBotCount(); i++) addBot(aMain, i, loader.getTeamAMainBotBrain(), true, TEAM_A);
+    for (int i = 0; i < bMain.getBotCount(); i++) addBot(bMain, i, loader.getTeamBMainBotBrain(), true, TEAM_B);
+    for (int i = 0; i < aSecondary.getBotCount(); i++) addBot(aSecondary, i, loader.getTeamASecondaryBotBrain(), false, TEAM_A);
+    for (int i = 0; i < bSecondary.getBotCount(); i++) addBot(bSecondary, i, loader.getTeamBSecondaryBotBrain(), false, TEAM_B);
+    if (config.isTwoPhaseTick()) {
+      applyOrder = new int[bots.size()];
+      for (int i = 0; i < applyOrder.length; i++) applyOrder[i] = i;
+      applyShuffle = new Random(BotContext.botSeed(config.getSeed(), -1)); //the stream no bot gets
+    }
+    started = false;
+    tick = 0;
+  }
+  private void addBot(MatchConfig.BotProfile profile, int index, IBrain brain, boolean rocket, int team) {
+    int slot = bots.size();
+    bots.add(new HeadlessBot(this, slot, profile.getRadius(), profile.getFrontalDetectionRange(), profile.getSpeed(), profile.getStepTurnAngle(),
+                             profile.getInitX(index), profile.getInitY(index), profile.getInitHeading(index), profile.getHealth(),
+                             rocket, (Brain)brain, team, BotContext.botSeed(config.getSeed(), slot)));
+    botGrid.insert(slot, profile.getInitX(index), profile.getInitY(index), profile.getRadius());
+  }
+
+  //---GET/SETTERS---//
+  public MatchConfig getMatchConfig() { return config; }
+  public double getWorldWidth() { return config.getArenaWidth(); }
+  public double getWorldHeight() { return config.getArenaHeight(); }
+  public ArrayList<Bot> getBots() { return bots; } //bot order is the one of SimulatorEngine: A mains, B mains, A secondaries, B secondaries
+  public BulletStore getBullets() { return bullets; }
+  public int getExplosionCount() { return explosionCount; }
+  public double getExplosionX(int i) { return explosionX[i]; }
+  public double getExplosionY(int i) { return explosionY[i]; }
+  public int getTick() { return tick; }
+  public boolean isMainBot(int bot) { return bots.get(bot).hasRocket(); }
+  long getWorldVersion() { return worldVersion; }
+  void worldChanged() { worldVersion++; }
+  TeamLog getTeamLog(int team) { return (team == TEAM_A) ? teamALog : teamBLog; }
+  public BrainTiming getBrainTiming(int bot) { return ((HeadlessBot)bots.get(bot)).getTiming(); }
+  /** Number of threads the brains decide on under a two-phase tick, the calling one included; before the first tick. */
+  public void setBrainThreads(int threads) {
+    if (started) throw new IllegalStateException("Brain threads must be set before the simulation.");
+    if (!config.isTwoPhaseTick()) throw new IllegalStateException("Brains run in parallel only under a two-phase tick.");
+    setBrainScheduler((threads > 1) ? new BrainPool(threads) : null);
+  }
+  /** Runs every brain on its own thread, released once per tick, so that brains may call Brain.awaitNextTick(); before the first tick. */
+  public void setThreadPerBrain() {
+    if (started) throw new IllegalStateException("Brain threads must be set before the simulation.");
+    if (!config.isTwoPhaseTick()) throw new IllegalStateException("Brains run in parallel only under a two-phase tick.");
+    setBrainScheduler(new BrainThreads(bots, config.getHangTimeout()));
+  }
+  private void setBrainScheduler(BrainScheduler scheduler) {
+    if (brainScheduler != null) brainScheduler.shutdown();
+    brainScheduler = scheduler;
+  }
+  BrainWatchdog getWatchdog() { return (brainScheduler instanceof BrainThreads) ? null : watchdog; } //brains on their own thread are timed out by BrainThreads
+  BrainThreads getBrainThreads() { return (brainScheduler instanceof BrainThreads) ? (BrainThreads)brainScheduler : null; }
+  public void setRecorder(ReplayRecorder recorder) { //before the first tick; the caller closes it
+    if (started) throw new IllegalStateException("Recording must start before the simulation.");
+    this.recorder = recorder;
+  }
+
+  /** Starts publishing a WorldSnapshot after every tick, from now on. Called from the simulation thread or before it starts. */
+  public void enableSnapshots() {
+    if (snapshotBuffers != null) return;
+    snapshotBuffers = new WorldSnapshot[] {new WorldSnapshot(bots.size()), new WorldSnapshot(bots.size())};
+    publishSnapshot();
+  }
+  /** Latest published tick, pinned until closed; null before enableSnapshots(). Lock-free, from any thread. */
+  public WorldSnapshot acquireSnapshot() {
+    while (true) {
+      WorldSnapshot world = snapshot;
+      if (world == null) return null;
+      world.pin();
+      if (world == snapshot) return world; //still on display after the pin: the engine will leave it alone
+      world.close();
+    }
+  }
+  private void publishSnapshot() {
+    int b = (snapshot == snapshotBuffers[0]) ? 1 : 0;
+    if (snapshotBuffers[b].isPinned()) snapshotBuffers[b] = new WorldSnapshot(bots.size()); //a reader is still on an older tick: leave it that buffer
+    WorldSnapshot back = snapshotBuffers[b];
+    back.tick = tick;
+    for (int i = 0; i < bots.size(); i++) {
+      Bot bot = bots.get(i);
+      back.botX[i] = bot.getX();
+      back.botY[i] = bot.getY();
+      back.botHeading[i] = bot.getHeading();
+      back.botHealth[i] = bot.getHealth();
+      back.botDestroyed[i] = bot.isDestroyed();
+    }
+    back.ensureBullets(bullets.size());
+    for (int i = 0; i < bullets.size(); i++) {
+      back.bulletX[i] = bullets.getX(i);
+      back.bulletY[i] = bullets.getY(i);
+    }
+    back.bulletCount = bullets.size();
+    back.ensureExplosions(explosionCount);
+    System.arraycopy(explosionX, 0, back.explosionX, 0, explosionCount);
+    System.arraycopy(explosionY, 0, back.explosionY, 0, explosionCount);
+    back.explosionCount = explosionCount;
+    snapshot = back;
+  }
+
+  //---SIMULATION---//
+  public void startSimulation() {
+    if (started) return;
+    if (recorder != null) recorder.begin(this);
+    if (applyOrder == null) for (Bot bot : bots) bot.activate();
+    else tickBrains(true);
+    advanceBullets();
+    started = true;
+    if (recorder != null) recorder.recordTick(this);
+    if (snapshotBuffers != null) publishSnapshot();
+  }
+  public void step() {
+    if (!started) startSimulation();
+    if (applyOrder == null) for (Bot bot : bots) bot.step();
+    else tickBrains(false);
+    advanceBullets();
+    releaseTeamLog(TEAM_A);
+    releaseTeamLog(TEAM_B);
+    tick++;
+    if (recorder != null) recorder.recordTick(this);
+    if (snapshotBuffers != null) publishSnapshot();
+  }
+  public boolean isOver() { return !hasSurvivor(TEAM_A) || !hasSurvivor(TEAM_B); }
+  public MatchResult run() { return run(DEFAULT_TICK_LIMIT); }
+  public MatchResult run(int tickLimit) {
+    try {
+      startSimulation();
+      while (!isOver() && tick < tickLimit) step();
+    } finally {
+      shutdown();
+    }
+    return getResult();
+  }
+  /** Releases the threads of the match once it is over; run() does it on its own. */
+  public void shutdown() {
+    if (watchdog != null) watchdog.shutdown();
+    if (brainScheduler != null) brainScheduler.shutdown();
+  }
+  private void tickBrains(boolean activation) { //two-phase tick: nothing changes in the world until every brain has decided
+    if (brainScheduler != null) brainScheduler.decide(bots, activation);
+    else for (Bot bot : bots) ((HeadlessBot)bot).decide(activation);
+    for (int i = applyOrder.length - 1; i > 0; i--) {
+      int j = applyShuffle.nextInt(i + 1), slot = applyOrder[i];
+      applyOrder[i] = applyOrder[j];
+      applyOrder[j] = slot;
+    }
+    for (int slot : applyOrder) ((HeadlessBot)bots.get(slot)).applyCommand();
+  }
+  public MatchResult getResult() {
+    int aSurvivors = 0, bSurvivors = 0;
+    double aHealth = 0, bHealth = 0;
+    double[] botHealth = new double[bots.size()];
+    BrainTiming[] timings = new BrainTiming[bots.size()];
+    for (int i = 0; i < bots.size(); i++) {
+      Bot bot = bots.get(i);
+      botHealth[i] = bot.getHealth();
+      timings[i] = getBrainTiming(i);
+      if (bot.getTeam() == TEAM_A) {
+        aHealth += bot.getHealth();
+        if (!bot.isDestroyed()) aSurvivors++;
+      } else {
+        bHealth += bot.getHealth();
+        if (!bot.isDestroyed()) bSurvivors++;
+      }
+    }
+    MatchResult.Winner winner;
+    if (aSurvivors > 0 && bSurvivors == 0) winner = MatchResult.Winner.TEAM_A;
+    else if (bSurvivors > 0 && aSurvivors == 0) winner = MatchResult.Winner.TEAM_B;
+    else if (aSurvivors > 0 && aHealth != bHealth) winner = (aHealth > bHealth) ? MatchResult.Winner.TEAM_A : MatchResult.Winner.TEAM_B; //tick limit reached
+    else winner = MatchResult.Winner.DRAW;
+    return new MatchResult(winner, tick, aSurvivors, bSurvivors, aHealth, bHealth, botHealth, timings);
+  }
+  private boolean hasSurvivor(int team) {
+    for (Bot bot : bots) if (bot.getTeam() == team && !bot.isDestroyed()) return true;
+    return false;
+  }
+
+  //---BOT-MOVES---//
+  protected boolean isFree(Bot bot, double x, double y, SpatialGrid.Hits hits) { //no other bot overlaps a bot of this radius centered at (x,y)
+    botGrid.queryAround(x, y, bot.getRadius(), hits);
+    for (int i = 0; i < hits.size; i++) {
+      Bot other = bots.get(hits.items[i]);
+      if (other.equals(bot)) continue;
+      double r = bot.getRadius() + other.getRadius();
+      if ((x - other.getX()) * (x - other.getX()) + (y - other.getY()) * (y - other.getY()) < r * r) return false;
+    }
+    return true;
+  }
+  protected void botMoved(int slot, double oldX, double oldY, double newX, double newY) {
+    botGrid.move(slot, oldX, oldY, newX, newY);
+    worldVersion++;
+  }
+
+  //---BULLETS---//
+  protected void addBullet(HeadlessBot bot, double dir) {
+    double radius = config.getBulletRadius();
+    if (recorder != null) recorder.fired(bot.getSlot(), dir);
+    spawnBullet(bot.getX() + 1.01 * (bot.getRadius() + radius) * Math.cos(dir),
+                bot.getY() + 1.01 * (bot.getRadius() + radius) * Math.sin(dir), dir);
+  }
+  void spawnBullet(double x, double y, double dir) {
+    double radius = config.getBulletRadius();
+    bulletGrid.insert(bullets.add(x, y, dir, config.getBulletVelocity(), radius, config.getBulletRange()), x, y, radius);
+    worldVersion++;
+  }
+  int getBulletCount() { return bullets.size(); }
+  void advanceBullets() {
+    int n = bullets.size();
+    for (int i = 0; i < n; i++) if (bullets.isExpired(i)) bullets.kill(i);
+    cancelCollisions(bullets, bulletPairs);
+    explosionCount = 0;
+    for (int k = 0; k < n; k++) {
+      if (bullets.isDead(k)) continue;
+      bullets.step(k);
+      double bx = bullets.getX(k), by = bullets.getY(k), br = bullets.getRadius(k);
+      botGrid.queryAround(bx, by, br, bulletHits);
+      for (int h = 0; h < bulletHits.size; h++) {
+        Bot bot = bots.get(bulletHits.items[h]);
+        double r = br + bot.getRadius();
+        if (!((bx - bot.getX()) * (bx - bot.getX()) + (by - bot.getY()) * (by - bot.getY()) < r * r)) continue;
+        bot.takeDamage(config.getBulletDamage());
+        addExplosion(bot.getX() + 1.1 * (bot.getRadius() + config.getBulletRadius()) * Math.cos(Math.PI + bullets.getHeading(k)),
+                     bot.getY() + 1.1 * (bot.getRadius() + config.getBulletRadius()) * Math.sin(Math.PI + bullets.getHeading(k)));
+        bullets.kill(k);
+        break;
+      }
+    }
+    bullets.compact();
+    bulletGrid.clear(); //every surviving bullet moved: rebuild rather than update
+    for (int k = 0; k < bullets.size(); k++) bulletGrid.insert(k, bullets.getX(k), bullets.getY(k), bullets.getRadius(k));
+    worldVersion++;
+  }
+  static void cancelCollisions(BulletStore bullets, SweepAndPrune pairs) { //colliding bullets cancel out pairwise, lowest pair first as in SimulatorEngine
+    pairs.build(bullets);
+    for (int p = 0; p < pairs.getPairCount(); p++) {
+      int i = pairs.getFirst(p), j = pairs.getSecond(p);
+      if (bullets.isDead(i) || bullets.isDead(j)) continue;
+      if (!segmentCollision(bullets.getX(i), bullets.getY(i), bullets.getStepX(i), bullets.getStepY(i),
+                            bullets.getX(j), bullets.getY(j), bullets.getStepX(j), bullets.getStepY(j))) continue;
+      bullets.kill(i);
+      bullets.kill(j);
+    }
+  }
+  private void addExplosion(double x, double y) {
+    if (explosionCount == explosionX.length) {
+      explosionX = Arrays.copyOf(explosionX, explosionCount * 2);
+      explosionY = Arrays.copyOf(explosionY, explosionCount * 2);
+    }
+    explosionX[explosionCount] = x;
+    explosionY[explosionCount] = y;
+    explosionCount++;
+  }
+
+  //---GEOMETRY---//
+  //same arithmetic as SimulatorEngine, on primitives instead of Coordinates
+  static boolean segmentCollision(double px, double py, double rx, double ry, double qx, double qy, double sx, double sy) {
+    double rxs = rx * sy - ry * sx;
+    double pqx = qx - px, pqy = qy - py;
+    double trxs = pqx * sy - pqy * sx;
+    double urxs = pqx * ry - pqy * rx;
+    if (rxs != 0.0) {
+      double t = trxs / rxs;
+      double u = urxs / rxs;
+      return 0.0 <= t && t <= 1.0 && 0.0 <= u && u <= 1.0;
+    }
+    if (Math.abs(rxs) < 0.01 && Math.abs(urxs) < 0.01) {
+      double pqr = pqx * rx + pqy * ry;
+      double qps = (px - qx) * sx + (py - qy) * sy;
+      return 0.0 <= pqr && pqr <= rx * rx + ry * ry || 0.0 <= qps && qps <= sx * sx + sy * sy;
+    }
+    return false;
+  }
+  private static boolean collision(double px, double py, double qx, double qy, Bot bot) {
+    double d = Math.sqrt((px - qx) * (px - qx) + (py - qy) * (py - qy));
+    double ux = (qx - px) / d, uy = (qy - py) / d;
+    double projection = (bot.getX() - px) * ux + (bot.getY() - py) * uy;
+    double cx, cy;
+    if (projection < 0.0) {
+      cx = px;
+      cy = py;
+    } else if (projection > d) {
+      cx = qx;
+      cy = qy;
+    } else {
+      cx = px + projection * ux;
+      cy = py + projection * uy;
+    }
+    return (bot.getX() - cx) * (bot.getX() - cx) + (bot.getY() - cy) * (bot.getY() - cy) < bot.getRadius() * bot.getRadius();
+  }
+
+  //---SENSORS---//
+  protected FrontSensorResult detect(double x, double y, double s, double t, int me, SpatialGrid.Hits hits) {
+    double reach = botGrid.getMaxRadius(); //a bot is seen only if its center lies within its radius of the segment
+    botGrid.query(Math.min(x, s) - reach, Math.min(y, t) - reach, Math.max(x, s) + reach, Math.max(y, t) + reach, hits);
+    for (int h = 0; h < hits.size; h++) {
+      Bot bot = bots.get(hits.items[h]);
+      if (x == bot.getX() && y == bot.getY() || !collision(x, y, s, t, bot)) continue;
+      if (bot.getHealth() == 0.0) return new FrontSensorResult(IFrontSensorResult.Types.Wreck);
+      if (me == bot.getTeam()) return new FrontSensorResult(bot.hasRocket() ? IFrontSensorResult.Types.TeamMainBot : IFrontSensorResult.Types.TeamSecondaryBot);
+      return new FrontSensorResult(bot.hasRocket() ? IFrontSensorResult.Types.OpponentMainBot : IFrontSensorResult.Types.OpponentSecondaryBot);
+    }
+    if (s < 0.0 || s > config.getArenaWidth() || t < 0.0 || t > config.getArenaHeight()) return new FrontSensorResult(IFrontSensorResult.Types.WALL);
+    return new FrontSensorResult(IFrontSensorResult.Types.NOTHING);
+  }
+  protected void detectRadar(double range, Bot bot, SpatialGrid.Hits hits, RadarScan result) {
+    result.clear();
+    botGrid.queryAround(bot.getX(), bot.getY(), range, hits);
+    for (int h = 0; h < hits.size; h++) {
+      Bot other = bots.get(hits.items[h]);
+      if (other.getX() == bot.getX() && other.getY() == bot.getY()) continue;
+      double d = radarDistance(bot, other.getX(), other.getY());
+      if (!(d < other.getRadius() + range)) continue;
+      IRadarResult.Types type = other.isDestroyed() ? IRadarResult.Types.Wreck
+                              : (other.getTeam() == bot.getTeam() ? (other.hasRocket() ? IRadarResult.Types.TeamMainBot : IRadarResult.Types.TeamSecondaryBot)
+                                                                  : (other.hasRocket() ? IRadarResult.Types.OpponentMainBot : IRadarResult.Types.OpponentSecondaryBot));
+      result.add(type, radarDirection(bot, other.getX(), other.getY(), d), d, other.getRadius());
+    }
+    bulletGrid.queryAround(bot.getX(), bot.getY(), range, hits);
+    for (int h = 0; h < hits.size; h++) {
+      int slot = hits.items[h];
+      double d = radarDistance(bot, bullets.getX(slot), bullets.getY(slot));
+      if (!(d < bullets.getRadius(slot) + range)) continue;
+      result.add(IRadarResult.Types.BULLET, radarDirection(bot, bullets.getX(slot), bullets.getY(slot), d), d, bullets.getRadius(slot));
+    }
+  }
+  private static double radarDistance(Bot bot, double x, double y) {
+    return Math.sqrt((x - bot.getX()) * (x - bot.getX()) + (y - bot.getY()) * (y - bot.getY()));
+  }
+  private static double radarDirection(Bot bot, double x, double y, double d) {
+    double dx = x - bot.getX();
+    return (y - bot.getY() < 0.0) ? -Math.acos(dx / d) : Math.acos(dx / d); //screen reference: negative angles point north
+  }
+
+  //---COMMUNICATION---//
+  protected void broadcast(String message, HeadlessBot sender) {
+    if (recorder != null) recorder.broadcast(sender.getSlot(), message);
+    getTeamLog(sender.getTeam()).append(message);
+  }
+  void broadcast(int kind, int senderId, double a, double b, double c, double d, HeadlessBot sender) {
+    if (recorder != null) recorder.broadcast(sender.getSlot(), TeamInbox.encode(kind, senderId, a, b, c, d));
+    getTeamLog(sender.getTeam()).append(kind, senderId, a, b, c, d);
+  }
+  private void releaseTeamLog(int team) { //entries every live teammate has fetched are dropped
+    TeamLog log = getTeamLog(team);
+    long oldest = log.getTail();
+    for (Bot bot : bots) {
+      HeadlessBot teammate = (HeadlessBot)bot;
+      if (teammate.getTeam() == team && teammate.isReading()) oldest = Math.min(oldest, teammate.getReadCursor());
+    }
+    log.release(oldest);
+  }
+
+  //---BATCH-ENTRY-POINT---//
+  public static void main(String[] args) throws IOException {
+    int matches = 1, tickLimit = DEFAULT_TICK_LIMIT;
+    int threads = 0; //-1 for a thread per brain
+    long seed = MatchConfig.DEFAULT.getSeed(), budget = 0, hangTimeout = 0;
+    Path replays = null;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-matches": matches = Integer.parseInt(args[i + 1]); break;
+        case "-ticks": tickLimit = Integer.parseInt(args[i + 1]); break;
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        case "-record": replays = Paths.get(args[i + 1]); break;
+        case "-budget": budget = (long)(Double.parseDouble(args[i + 1]) * 1e3); break; //microseconds
+        case "-hang": hangTimeout = (long)(Double.parseDouble(args[i + 1]) * 1e6); break; //milliseconds
+        case "-threads": threads = args[i + 1].equals("brain") ? -1 : Integer.parseInt(args[i + 1]); break; //two-phase ticks on that many threads or on one per brain, 0 for the one-phase tick
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    int aWins = 0, bWins = 0, draws = 0;
+    long totalTicks = 0, start = System.nanoTime();
+    if (replays != null) Files.createDirectories(replays);
+    MatchConfig config = MatchConfig.DEFAULT.withStepBudget(budget, hangTimeout).withTwoPhaseTick(threads != 0);
+    BrainTiming[] timings = null;
+    for (int m = 0; m < matches; m++) {
+      HeadlessEngine engine = new HeadlessEngine(config.withSeed(seed + m));
+      if (threads > 0) engine.setBrainThreads(threads);
+      else if (threads < 0) engine.setThreadPerBrain();
+      MatchResult result;
+      if (replays == null) result = engine.run(tickLimit);
+      else {
+        ReplayRecorder recorder = new ReplayRecorder(replays.resolve("match-" + (seed + m) + ".replay"));
+        try {
+          engine.setRecorder(recorder);
+          result = engine.run(tickLimit);
+        } finally {
+          recorder.close();
+        }
+      }
+      System.out.println("Match " + (m + 1) + " (seed " + (seed + m) + "): " + result);
+      totalTicks += result.getTicks();
+      if (timings == null) {
+        timings = new BrainTiming[result.getBotCount()];
+        for (int i = 0; i < timings.length; i++) timings[i] = new BrainTiming();
+      }
+      for (int i = 0; i < timings.length; i++) timings[i].add(result.getBrainTiming(i));
+      if (result.getWinner() == MatchResult.Winner.TEAM_A) aWins++;
+      else if (result.getWinner() == MatchResult.Winner.TEAM_B) bWins++;
+      else draws++;
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println(MatchConfig.DEFAULT.getTeamAName() + " " + aWins + " - " + bWins + " " + MatchConfig.DEFAULT.getTeamBName() + " (" + draws + " draws)");
+    System.out.println(totalTicks + " ticks in " + String.format("%.2f", seconds) + " s (" + (long)(totalTicks / seconds) + " ticks/s)");
+    if (timings == null) return;
+    System.out.println("Brain step times over all matches:");
+    for (int i = 0; i < timings.length; i++) System.out.println("  bot " + i + ": " + timings[i]);
+  }
+}
@@ -0,0 +1,51 @@
+package robotsimulator;
+
+/**
+ * Outcome of one headless match, as returned by HeadlessEngine.run().
+ */
+public class MatchResult {
+  public static enum Winner { TEAM_A, TEAM_B, DRAW };
+
+  //---VARIABLES---//
+  private final Winner winner;
+  private final int ticks;
+  private final int teamASurvivors, teamBSurvivors;
+  private final double teamAHealth, teamBHealth;
+  private final double[] botHealth;
+  private final BrainTiming[] brainTimings;
+
+  //---CONSTRUCTORS---//
+  public MatchResult(Winner winner, int ticks, int teamASurvivors, int teamBSurvivors,
+                     double teamAHealth, double teamBHealth, double[] botHealth, BrainTiming[] brainTimings) {
+    this.winner = winner;
+    this.ticks = ticks;
+    this.teamASurvivors = teamASurvivors;
+    this.teamBSurvivors = teamBSurvivors;
+    this.teamAHealth = teamAHealth;
+    this.teamBHealth = teamBHealth;
+    this.botHealth = botHealth.clone();
+    this.brainTimings = new BrainTiming[brainTimings.length];
+    for (int i = 0; i < brainTimings.length; i++) this.brainTimings[i] = new BrainTiming(brainTimings[i]);
+  }
+
+  //---GET/SETTERS---//
+  public Winner getWinner() { return winner; }
+  public int getTicks() { return ticks; }
+  public int getTeamASurvivors() { return teamASurvivors; }
+  public int getTeamBSurvivors() { return teamBSurvivors; }
+  public double getTeamAHealth() { return teamAHealth; }
+  public double getTeamBHealth() { return teamBHealth; }
+  public double getHealthDifferential() { return teamAHealth - teamBHealth; } //positive when team A ends healthier
+  public double getBotHealth(int index) { return botHealth[index]; } //same bot order as HeadlessEngine.getBots()
+  public int getBotCount() { return botHealth.length; }
+  public BrainTiming getBrainTiming(int index) { return brainTimings[index]; }
+  public boolean hasCutOffBrain() {
+    for (BrainTiming timing : brainTimings) if (timing.isCutOff()) return true;
+    return false;
+  }
+
+  public String toString() {
+    return winner + " after " + ticks + " ticks (A: " + teamASurvivors + " alive, " + (int)teamAHealth
+        + " hp; B: " + teamBSurvivors + " alive, " + (int)teamBHealth + " hp)";
+  }
+}
@@ -0,0 +1,67 @@
+package robotsimulator;
+
+import characteristics.IRadarResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Radar contacts of one scan, in the order IBrain.detectRadar() would list them, as parallel primitive arrays.
+ * The brain owns the buffer and hands it to Brain.detectRadar(RadarScan) every step; the arrays only grow,
+ * so a scan allocates nothing once the buffer has seen the busiest tick.
+ */
+public final class RadarScan {
+  //---HARD-CODED-PARAMETERS---//
+  private static final IRadarResult.Types[] TYPES = IRadarResult.Types.values();
+
+  //---VARIABLES---//
+  private int[] types; //IRadarResult.Types ordinals
+  private double[] directions, distances, radii;
+  private int size;
+
+  //---CONSTRUCTORS---//
+  public RadarScan() {
+    types = new int[16];
+    directions = new double[16];
+    distances = new double[16];
+    radii = new double[16];
+    size = 0;
+  }
+
+  //---GET/SETTERS---//
+  public int size() { return size; }
+  public IRadarResult.Types getType(int contact) { return TYPES[types[contact]]; }
+  public int getTypeOrdinal(int contact) { return types[contact]; }
+  public double getDirection(int contact) { return directions[contact]; }
+  public double getDistance(int contact) { return distances[contact]; }
+  public double getRadius(int contact) { return radii[contact]; }
+
+  //---UPDATES---//
+  void clear() { size = 0; }
+  void add(IRadarResult.Types type, double direction, double distance, double radius) {
+    if (size == types.length) {
+      int capacity = size * 2;
+      types = Arrays.copyOf(types, capacity);
+      directions = Arrays.copyOf(directions, capacity);
+      distances = Arrays.copyOf(distances, capacity);
+      radii = Arrays.copyOf(radii, capacity);
+    }
+    types[size] = type.ordinal();
+    directions[size] = direction;
+    distances[size] = distance;
+    radii[size] = radius;
+    size++;
+  }
+  void copyFrom(RadarScan other) {
+    clear();
+    for (int i = 0; i < other.size; i++) add(TYPES[other.types[i]], other.directions[i], other.distances[i], other.radii[i]);
+  }
+  void addAll(ArrayList<IRadarResult> results) {
+    for (IRadarResult r : results) add(r.getObjectType(), r.getObjectDirection(), r.getObjectDistance(), r.getObjectRadius());
+  }
+  ArrayList<IRadarResult> toList() {
+    ArrayList<IRadarResult> results = new ArrayList<IRadarResult>(size);
+    for (int i = 0; i < size; i++) results.add(new RadarResult(TYPES[types[i]], directions[i], distances[i], radii[i]));
+    return results;
+  }
+}
@@ -0,0 +1,74 @@
+package robotsimulator;
+
+/**
+ * Playback position in a replay, with random seek.
+ * The state of the match (bots, bullets, explosions) is stored whole in every frame, so a seek decodes the target
+ * frame alone, found through the index; nothing is replayed. The only thing a frame does not hold is the running
+ * tally of shots fired and messages sent by each bot. Tallies are checkpointed every TALLY_INTERVAL ticks by one pass
+ * over the event sections when the cursor is created; a seek restores the checkpoint at or before the target and adds
+ * the events of the frames in between, or those since the current tick when moving forward by less than an interval.
+ */
+public class ReplayCursor {
+  //---HARD-CODED-PARAMETERS---//
+  public static final int TALLY_INTERVAL = 100;
+
+  //---VARIABLES---//
+  private final ReplayReader replay;
+  private final ReplayFrame frame, events;
+  private final int[][] savedShots, savedMessages; //tallies up to and including tick k*TALLY_INTERVAL
+  private final int[] shots, messages;
+  private int tick;
+
+  //---CONSTRUCTORS---//
+  public ReplayCursor(ReplayReader replay) {
+    this.replay = replay;
+    int bots = replay.getBotCount();
+    frame = new ReplayFrame(bots);
+    events = new ReplayFrame(bots);
+    shots = new int[bots];
+    messages = new int[bots];
+    int checkpoints = (replay.getFrameCount() - 1) / TALLY_INTERVAL + 1;
+    savedShots = new int[checkpoints][];
+    savedMessages = new int[checkpoints][];
+    for (int t = 0; t < replay.getFrameCount(); t++) {
+      applyEvents(t);
+      if (t % TALLY_INTERVAL != 0) continue;
+      savedShots[t / TALLY_INTERVAL] = shots.clone();
+      savedMessages[t / TALLY_INTERVAL] = messages.clone();
+    }
+    System.arraycopy(savedShots[0], 0, shots, 0, bots);
+    System.arraycopy(savedMessages[0], 0, messages, 0, bots);
+    replay.readFrame(0, frame);
+    tick = 0;
+  }
+
+  //---GET/SETTERS---//
+  public ReplayReader getReplay() { return replay; }
+  public ReplayFrame getFrame() { return frame; }
+  public int getTick() { return tick; }
+  public int getLastTick() { return replay.getFrameCount() - 1; }
+  public int getShots(int bot) { return shots[bot]; }
+  public int getMessages(int bot) { return messages[bot]; }
+
+  //---SEEK---//
+  public void seek(int target) {
+    target = Math.max(0, Math.min(target, getLastTick()));
+    if (target == tick) return;
+    int from;
+    if (target > tick && target - tick <= TALLY_INTERVAL) from = tick + 1;
+    else {
+      int k = target / TALLY_INTERVAL;
+      System.arraycopy(savedShots[k], 0, shots, 0, shots.length);
+      System.arraycopy(savedMessages[k], 0, messages, 0, messages.length);
+      from = k * TALLY_INTERVAL + 1;
+    }
+    for (int t = from; t <= target; t++) applyEvents(t);
+    replay.readFrame(target, frame);
+    tick = target;
+  }
+  private void applyEvents(int t) {
+    replay.readEvents(t, events);
+    for (int i = 0; i < events.getFireCount(); i++) shots[events.getFireBot(i)]++;
+    for (int i = 0; i < events.getMessageCount(); i++) messages[events.getMessageBot(i)]++;
+  }
+}
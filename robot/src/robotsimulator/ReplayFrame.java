@@ -0,0 +1,76 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * One decoded tick of a replay: bot states, bullets, explosions, and the fire and broadcast events of the tick.
+ * Arrays are reused from one decode to the next, so a viewer can keep a single frame for the whole playback.
+ */
+public class ReplayFrame implements ArenaState {
+  //---VARIABLES---//
+  int tick;
+  float[] botX, botY, botHeading, botHealth;
+  byte[] botFlags;
+  float[] bulletX = new float[64], bulletY = new float[64];
+  int bulletCount;
+  float[] explosionX = new float[16], explosionY = new float[16];
+  int explosionCount;
+  int[] fireBot = new int[16];
+  float[] fireDirection = new float[16];
+  int fireCount;
+  int[] messageBot = new int[16];
+  String[] message = new String[16];
+  int messageCount;
+
+  //---CONSTRUCTORS---//
+  public ReplayFrame(int botCount) {
+    botX = new float[botCount];
+    botY = new float[botCount];
+    botHeading = new float[botCount];
+    botHealth = new float[botCount];
+    botFlags = new byte[botCount];
+  }
+
+  //---GET/SETTERS---//
+  public int getTick() { return tick; }
+  public int getBotCount() { return botX.length; }
+  public double getBotX(int bot) { return botX[bot]; }
+  public double getBotY(int bot) { return botY[bot]; }
+  public double getBotHeading(int bot) { return botHeading[bot]; }
+  public double getBotHealth(int bot) { return botHealth[bot]; }
+  public boolean isBotDestroyed(int bot) { return (botFlags[bot] & ReplayRecorder.FLAG_DESTROYED) != 0; }
+  public int getBulletCount() { return bulletCount; }
+  public double getBulletX(int i) { return bulletX[i]; }
+  public double getBulletY(int i) { return bulletY[i]; }
+  public int getExplosionCount() { return explosionCount; }
+  public double getExplosionX(int i) { return explosionX[i]; }
+  public double getExplosionY(int i) { return explosionY[i]; }
+  public int getFireCount() { return fireCount; }
+  public int getFireBot(int i) { return fireBot[i]; }
+  public double getFireDirection(int i) { return fireDirection[i]; }
+  public int getMessageCount() { return messageCount; }
+  public int getMessageBot(int i) { return messageBot[i]; }
+  public String getMessage(int i) { return message[i]; }
+
+  //---CAPACITY---//
+  void ensureBullets(int n) {
+    if (n <= bulletX.length) return;
+    bulletX = Arrays.copyOf(bulletX, Math.max(n, bulletX.length * 2));
+    bulletY = Arrays.copyOf(bulletY, bulletX.length);
+  }
+  void ensureExplosions(int n) {
+    if (n <= explosionX.length) return;
+    explosionX = Arrays.copyOf(explosionX, Math.max(n, explosionX.length * 2));
+    explosionY = Arrays.copyOf(explosionY, explosionX.length);
+  }
+  void ensureFires(int n) {
+    if (n <= fireBot.length) return;
+    fireBot = Arrays.copyOf(fireBot, Math.max(n, fireBot.length * 2));
+    fireDirection = Arrays.copyOf(fireDirection, fireBot.length);
+  }
+  void ensureMessages(int n) {
+    if (n <= messageBot.length) return;
+    messageBot = Arrays.copyOf(messageBot, Math.max(n, messageBot.length * 2));
+    message = Arrays.copyOf(message, messageBot.length);
+  }
+}
@@ -0,0 +1,143 @@
+package robotsimulator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a file written by ReplayRecorder, mapped in memory.
+ * The frame index written on close gives random access to any tick: readFrame() decodes one frame in full,
+ * readEvents() only its fire and broadcast sections, skipping bot and bullet states.
+ */
+public class ReplayReader implements Closeable {
+  //---VARIABLES---//
+  private final FileChannel channel;
+  private final MappedByteBuffer data;
+  private final long seed;
+  private final double arenaWidth, arenaHeight, bulletRadius;
+  private final int[] teams;
+  private final boolean[] mainBots;
+  private final double[] radii;
+  private final int indexOffset, frameCount;
+
+  //---CONSTRUCTORS---//
+  public ReplayReader(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) throw new IOException(file + " is too large to be mapped.");
+      data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (data.remaining() < 50 || data.getInt() != ReplayRecorder.MAGIC) throw new IOException(file + " is not a replay.");
+      short version = data.getShort();
+      if (version != ReplayRecorder.VERSION) throw new IOException(file + " has replay version " + version + ", expected " + ReplayRecorder.VERSION + ".");
+      long index = data.getLong();
+      if (index <= 0 || index > data.limit() - 4) throw new IOException(file + " was not closed by its recorder.");
+      indexOffset = (int)index;
+      seed = data.getLong();
+      arenaWidth = data.getDouble();
+      arenaHeight = data.getDouble();
+      bulletRadius = data.getDouble();
+      int bots = data.getInt();
+      teams = new int[bots];
+      mainBots = new boolean[bots];
+      radii = new double[bots];
+      for (int i = 0; i < bots; i++) {
+        teams[i] = data.getInt();
+        mainBots[i] = data.get() != 0;
+        radii[i] = data.getDouble();
+      }
+      frameCount = data.getInt(indexOffset);
+      if (frameCount < 1 || indexOffset + 4 + 8L * frameCount > data.limit()) throw new IOException(file + " has a damaged frame index.");
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  //---GET/SETTERS---//
+  public long getSeed() { return seed; }
+  public double getArenaWidth() { return arenaWidth; }
+  public double getArenaHeight() { return arenaHeight; }
+  public double getBulletRadius() { return bulletRadius; }
+  public int getBotCount() { return teams.length; }
+  public int getBotTeam(int bot) { return teams[bot]; }
+  public boolean isMainBot(int bot) { return mainBots[bot]; }
+  public double getBotRadius(int bot) { return radii[bot]; }
+  public int getFrameCount() { return frameCount; }
+
+  //---DECODING---//
+  /** Decodes frame tick into frame. */
+  public void readFrame(int tick, ReplayFrame frame) {
+    int p = frameOffset(tick);
+    frame.tick = data.getInt(p);
+    p += 4;
+    for (int i = 0; i < teams.length; i++) {
+      frame.botX[i] = data.getFloat(p);
+      frame.botY[i] = data.getFloat(p + 4);
+      frame.botHeading[i] = data.getFloat(p + 8);
+      frame.botHealth[i] = data.getFloat(p + 12);
+      frame.botFlags[i] = data.get(p + 16);
+      p += 17;
+    }
+    int n = data.getInt(p);
+    p += 4;
+    frame.ensureBullets(n);
+    for (int i = 0; i < n; i++, p += 8) {
+      frame.bulletX[i] = data.getFloat(p);
+      frame.bulletY[i] = data.getFloat(p + 4);
+    }
+    frame.bulletCount = n;
+    n = data.getInt(p);
+    p += 4;
+    frame.ensureExplosions(n);
+    for (int i = 0; i < n; i++, p += 8) {
+      frame.explosionX[i] = data.getFloat(p);
+      frame.explosionY[i] = data.getFloat(p + 4);
+    }
+    frame.explosionCount = n;
+    readEvents(p, frame, true);
+  }
+  /** Decodes only the fire and broadcast events of frame tick; message texts are left undecoded. */
+  public void readEvents(int tick, ReplayFrame frame) {
+    int p = frameOffset(tick);
+    frame.tick = data.getInt(p);
+    p += 4 + 17 * teams.length;
+    p += 4 + 8 * data.getInt(p); //bullets
+    p += 4 + 8 * data.getInt(p); //explosions
+    readEvents(p, frame, false);
+  }
+  private void readEvents(int p, ReplayFrame frame, boolean texts) {
+    int n = data.getInt(p);
+    p += 4;
+    frame.ensureFires(n);
+    for (int i = 0; i < n; i++, p += 5) {
+      frame.fireBot[i] = data.get(p);
+      frame.fireDirection[i] = data.getFloat(p + 1);
+    }
+    frame.fireCount = n;
+    n = data.getInt(p);
+    p += 4;
+    frame.ensureMessages(n);
+    for (int i = 0; i < n; i++) {
+      frame.messageBot[i] = data.get(p);
+      int length = data.getShort(p + 1);
+      p += 3;
+      if (texts) {
+        byte[] bytes = new byte[length];
+        for (int b = 0; b < length; b++) bytes[b] = data.get(p + b);
+        frame.message[i] = new String(bytes, StandardCharsets.UTF_8);
+      } else frame.message[i] = null;
+      p += length;
+    }
+    frame.messageCount = n;
+  }
+  private int frameOffset(int tick) {
+    if (tick < 0 || tick >= frameCount) throw new IndexOutOfBoundsException("Tick " + tick + " is not in [0," + frameCount + ").");
+    return (int)data.getLong(indexOffset + 4 + 8 * tick);
+  }
+
+  public void close() throws IOException { channel.close(); } //the mapping stays valid until collected
+}
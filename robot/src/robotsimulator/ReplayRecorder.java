@@ -0,0 +1,192 @@
+package robotsimulator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Binary recording of a HeadlessEngine match, written through a memory-mapped file.
+ * The file is mapped in 4 MB windows and written with plain buffer puts, so recording a tick costs a few hundred
+ * bytes of memory writes and no system call; the OS flushes the pages in the background.
+ * Layout, big-endian:
+ * <pre>
+ *   header : int MAGIC, short VERSION, long index offset (patched on close), long seed,
+ *            double arena width, arena height, bullet radius, int bot count,
+ *            then per bot: int team, byte 1 if main bot, double radius
+ *   frame  : int tick,
+ *            per bot: float x, y, heading, health, byte flags (FLAG_DESTROYED),
+ *            int bullet count, per bullet: float x, y,
+ *            int explosion count, per explosion: float x, y,
+ *            int fire count, per fire: byte bot, float direction,
+ *            int message count, per message: byte bot, short length, UTF-8 bytes (cut to 32767, on a character boundary)
+ *   index  : int frame count, long offset of every frame
+ * </pre>
+ * Frame t is the state after t ticks, with the events of tick t; frame 0 is the state right after activation.
+ * The file may be longer than the index end: on systems that cannot truncate a mapped file, the tail is left as zeros.
+ */
+public class ReplayRecorder implements Closeable {
+  //---HARD-CODED-PARAMETERS---//
+  public static final int MAGIC = 0x534D5250; //"SMRP"
+  public static final short VERSION = 1;
+  public static final byte FLAG_DESTROYED = 1;
+  static final int INDEX_OFFSET_POSITION = 6; //right after MAGIC and VERSION
+  private static final int WINDOW_SIZE = 1 << 22;
+
+  //---VARIABLES---//
+  private final FileChannel channel;
+  private MappedByteBuffer buffer;
+  private long bufferStart; //file offset of the first byte of buffer
+  private long[] frameOffsets;
+  private int frameCount;
+  private byte[] fireBots; //events of the tick being simulated
+  private float[] fireDirections;
+  private int fireCount;
+  private ArrayList<byte[]> messages;
+  private byte[] messageBots;
+  private boolean begun, closed;
+
+  //---CONSTRUCTORS---//
+  public ReplayRecorder(Path file) throws IOException {
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                               StandardOpenOption.TRUNCATE_EXISTING);
+    bufferStart = 0;
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, WINDOW_SIZE);
+    frameOffsets = new long[1024];
+    frameCount = 0;
+    fireBots = new byte[16];
+    fireDirections = new float[16];
+    fireCount = 0;
+    messages = new ArrayList<byte[]>();
+    messageBots = new byte[16];
+    begun = false;
+    closed = false;
+  }
+
+  //---GET/SETTERS---//
+  public int getFrameCount() { return frameCount; }
+
+  //---RECORDING---//
+  void begin(HeadlessEngine engine) {
+    ArrayList<Bot> bots = engine.getBots();
+    reserve(54 + 13 * bots.size());
+    buffer.putInt(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putLong(0L);
+    buffer.putLong(engine.getMatchConfig().getSeed());
+    buffer.putDouble(engine.getWorldWidth());
+    buffer.putDouble(engine.getWorldHeight());
+    buffer.putDouble(engine.getMatchConfig().getBulletRadius());
+    buffer.putInt(bots.size());
+    for (Bot bot : bots) {
+      buffer.putInt(bot.getTeam());
+      buffer.put((byte)(bot.hasRocket() ? 1 : 0));
+      buffer.putDouble(bot.getRadius());
+    }
+    begun = true;
+  }
+  void fired(int bot, double direction) {
+    if (fireCount == fireBots.length) {
+      fireBots = Arrays.copyOf(fireBots, fireCount * 2);
+      fireDirections = Arrays.copyOf(fireDirections, fireCount * 2);
+    }
+    fireBots[fireCount] = (byte)bot;
+    fireDirections[fireCount] = (float)direction;
+    fireCount++;
+  }
+  void broadcast(int bot, String message) {
+    if (messages.size() == messageBots.length) messageBots = Arrays.copyOf(messageBots, messages.size() * 2);
+    messageBots[messages.size()] = (byte)bot;
+    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) { //cut to the short length field, at the start of a character
+      int cut = Short.MAX_VALUE;
+      while (cut > 0 && (bytes[cut] & 0xC0) == 0x80) cut--;
+      bytes = Arrays.copyOf(bytes, cut);
+    }
+    messages.add(bytes);
+  }
+  void recordTick(HeadlessEngine engine) {
+    ArrayList<Bot> bots = engine.getBots();
+    BulletStore bullets = engine.getBullets();
+    int explosions = engine.getExplosionCount();
+    int size = 20 + 17 * bots.size() + 8 * bullets.size() + 8 * explosions + 5 * fireCount;
+    for (byte[] message : messages) size += 3 + message.length;
+    reserve(size);
+    if (frameCount == frameOffsets.length) frameOffsets = Arrays.copyOf(frameOffsets, frameCount * 2);
+    frameOffsets[frameCount++] = bufferStart + buffer.position();
+
+    buffer.putInt(engine.getTick());
+    for (Bot bot : bots) {
+      buffer.putFloat((float)bot.getX());
+      buffer.putFloat((float)bot.getY());
+      buffer.putFloat((float)bot.getHeading());
+      buffer.putFloat((float)bot.getHealth());
+      buffer.put(bot.isDestroyed() ? FLAG_DESTROYED : 0);
+    }
+    buffer.putInt(bullets.size());
+    for (int i = 0; i < bullets.size(); i++) {
+      buffer.putFloat((float)bullets.getX(i));
+      buffer.putFloat((float)bullets.getY(i));
+    }
+    buffer.putInt(explosions);
+    for (int i = 0; i < explosions; i++) {
+      buffer.putFloat((float)engine.getExplosionX(i));
+      buffer.putFloat((float)engine.getExplosionY(i));
+    }
+    buffer.putInt(fireCount);
+    for (int i = 0; i < fireCount; i++) {
+      buffer.put(fireBots[i]);
+      buffer.putFloat(fireDirections[i]);
+    }
+    buffer.putInt(messages.size());
+    for (int i = 0; i < messages.size(); i++) {
+      byte[] message = messages.get(i);
+      buffer.put(messageBots[i]);
+      buffer.putShort((short)message.length);
+      buffer.put(message);
+    }
+    fireCount = 0;
+    messages.clear();
+  }
+  /** Writes the frame index and releases the file. The recorder is unusable afterwards. */
+  public void close() throws IOException {
+    if (closed) return;
+    closed = true;
+    try {
+      if (begun) {
+        reserve(8L * frameCount + 4);
+        long indexOffset = bufferStart + buffer.position();
+        buffer.putInt(frameCount);
+        for (int i = 0; i < frameCount; i++) buffer.putLong(frameOffsets[i]);
+        long end = bufferStart + buffer.position();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_OFFSET_POSITION + 8);
+        buffer.putLong(INDEX_OFFSET_POSITION, indexOffset);
+        buffer = null;
+        try {
+          channel.truncate(end);
+        } catch (IOException e) {
+          //the file is still mapped (Windows): keep the zero tail, readers go through the index offset
+        }
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+  //---MAPPING---//
+  private void reserve(long bytes) {
+    if (buffer.remaining() >= bytes) return;
+    try {
+      bufferStart += buffer.position();
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, bufferStart, Math.max(WINDOW_SIZE, bytes));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
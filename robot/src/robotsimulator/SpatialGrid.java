@@ -0,0 +1,113 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * Uniform bucket grid over the arena, storing integer handles (indices in the engine lists) by center position.
+ * Each handle lives in exactly one cell; positions outside the arena are clamped to the border cells, which keeps
+ * every query conservative. Queries return the handles of the cells overlapping an axis-aligned box, sorted in
+ * increasing order, so callers can replay the exact tests of a linear scan in the original list order.
+ */
+class SpatialGrid {
+  //---VARIABLES---//
+  private final double cellSize;
+  private final int columns, rows;
+  private final int[][] cells;
+  private final int[] counts;
+  private double maxRadius; //largest radius inserted so far, used to widen queries
+
+  //---CONSTRUCTORS---//
+  SpatialGrid(double width, double height, double cellSize) {
+    this.cellSize = cellSize;
+    this.columns = Math.max(1, (int)Math.ceil(width / cellSize));
+    this.rows = Math.max(1, (int)Math.ceil(height / cellSize));
+    this.cells = new int[columns * rows][];
+    this.counts = new int[columns * rows];
+    for (int i = 0; i < cells.length; i++) cells[i] = new int[4];
+    this.maxRadius = 0;
+  }
+
+  //---GET/SETTERS---//
+  double getMaxRadius() { return maxRadius; }
+
+  //---UPDATES---//
+  void clear() {
+    for (int i = 0; i < counts.length; i++) counts[i] = 0;
+  }
+  void insert(int handle, double x, double y, double radius) {
+    if (radius > maxRadius) maxRadius = radius;
+    int cell = cell(x, y);
+    int[] items = cells[cell];
+    if (counts[cell] == items.length) {
+      int[] grown = new int[items.length * 2];
+      System.arraycopy(items, 0, grown, 0, items.length);
+      cells[cell] = items = grown;
+    }
+    items[counts[cell]++] = handle;
+  }
+  void remove(int handle, double x, double y) {
+    int cell = cell(x, y);
+    int[] items = cells[cell];
+    for (int i = 0; i < counts[cell]; i++) {
+      if (items[i] != handle) continue;
+      items[i] = items[--counts[cell]];
+      return;
+    }
+  }
+  void move(int handle, double oldX, double oldY, double newX, double newY) {
+    int from = cell(oldX, oldY), to = cell(newX, newY);
+    if (from == to) return;
+    remove(handle, oldX, oldY);
+    insert(handle, newX, newY, 0);
+  }
+
+  //---QUERIES---//
+  /** Collects, in increasing order, the handles whose center may lie in [minX,maxX]x[minY,maxY]. */
+  void query(double minX, double minY, double maxX, double maxY, Hits hits) {
+    hits.size = 0;
+    int c0 = column(minX), c1 = column(maxX), r0 = row(minY), r1 = row(maxY);
+    for (int r = r0; r <= r1; r++) {
+      for (int c = c0; c <= c1; c++) {
+        int cell = r * columns + c;
+        int[] items = cells[cell];
+        for (int i = 0; i < counts[cell]; i++) hits.add(items[i]);
+      }
+    }
+    hits.sort();
+  }
+  /** Same as query() for the box around (x,y) widened by reach plus the largest stored radius. */
+  void queryAround(double x, double y, double reach, Hits hits) {
+    double r = reach + maxRadius;
+    query(x - r, y - r, x + r, y + r, hits);
+  }
+
+  //---CELLS---//
+  private int cell(double x, double y) { return row(y) * columns + column(x); }
+  private int column(double x) {
+    int c = (int)Math.floor(x / cellSize);
+    return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+  }
+  private int row(double y) {
+    int r = (int)Math.floor(y / cellSize);
+    return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+  }
+
+  /**
+   * Reusable result buffer of a query. One per caller, so concurrent readers of a grid that is
+   * not being modified do not share scratch space.
+   */
+  static final class Hits {
+    int[] items = new int[16];
+    int size;
+
+    void add(int handle) {
+      if (size == items.length) {
+        int[] grown = new int[items.length * 2];
+        System.arraycopy(items, 0, grown, 0, size);
+        items = grown;
+      }
+      items[size++] = handle;
+    }
+    void sort() { Arrays.sort(items, 0, size); }
+  }
+}
@@ -0,0 +1,163 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * Sort-and-sweep broadphase for the bullet-versus-bullet pass of a HeadlessEngine.
+ * Each live bullet is boxed by the segment it travels this tick; boxes are sorted on their left edge
+ * and swept along x, and only the pairs whose boxes also overlap on y are kept as candidates.
+ * Two segments can only pass the exact test if their boxes meet: the crossing point lies in both boxes,
+ * and the parallel case of the test accepts a point within 0.01/|step| of the other segment's line,
+ * which is the padding added to every box. The one exception is a pair of bullets on the same line, nearly
+ * parallel without being exactly so: the cross products of the test are then rounding noise, and it may accept
+ * bullets that are far apart. Bullets are therefore also swept by the angle of their line, and those on nearly the
+ * same line are kept as candidates whatever their boxes; the exact test still decides. Candidate pairs come back
+ * sorted by (lower slot, higher slot), each once, the order in which the full pairwise scan of SimulatorEngine
+ * visits them.
+ */
+class SweepAndPrune {
+  //---HARD-CODED-PARAMETERS---//
+  private static final double COLLINEAR_TOLERANCE = 0.01; //tolerance of the parallel branch of segmentCollision
+  private static final double ROUNDING_MARGIN = 1e-6; //keeps endpoint contacts decided by rounding among the candidates
+  private static final double PARALLEL_TOLERANCE = 1e-6; //on the pseudo-angle, at most 2e-6 rad; the test is only fooled by rounding far below this
+  private static final double LINE_TOLERANCE = 1e-3; //distance between the lines of such a pair, on top of the angle's share
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  //---VARIABLES---//
+  private double[] minX, maxX, minY, maxY; //indexed by bullet slot
+  private double[] angle, offset; //line of a moving bullet: pseudo-angle of its direction in [0,2) and signed distance from the origin
+  private int[] order; //live slots, sorted on minX
+  private int[] lines; //moving live slots, sorted on angle
+  private long[] pairs; //lower slot in the high word, higher slot in the low word
+  private int pairCount;
+
+  //---CONSTRUCTORS---//
+  SweepAndPrune() {
+    minX = new double[64];
+    maxX = new double[64];
+    minY = new double[64];
+    maxY = new double[64];
+    angle = new double[64];
+    offset = new double[64];
+    order = new int[64];
+    lines = new int[64];
+    pairs = new long[64];
+    pairCount = 0;
+  }
+
+  //---GET/SETTERS---//
+  int getPairCount() { return pairCount; }
+  int getFirst(int pair) { return (int)(pairs[pair] >>> 32); }
+  int getSecond(int pair) { return (int)pairs[pair]; }
+
+  //---BROADPHASE---//
+  /** Collects the candidate pairs among the bullets of the store that are not flagged dead. */
+  void build(BulletStore bullets) {
+    int n = bullets.size();
+    if (minX.length < n) {
+      int capacity = Math.max(n, minX.length * 2);
+      minX = new double[capacity];
+      maxX = new double[capacity];
+      minY = new double[capacity];
+      maxY = new double[capacity];
+      angle = new double[capacity];
+      offset = new double[capacity];
+      order = new int[capacity];
+      lines = new int[capacity];
+    }
+    int live = 0, moving = 0;
+    double extent = 0.0; //bounds the distance of any bullet from the origin
+    for (int i = 0; i < n; i++) {
+      if (bullets.isDead(i)) continue;
+      double x = bullets.getX(i), y = bullets.getY(i), sx = bullets.getStepX(i), sy = bullets.getStepY(i);
+      double length = Math.sqrt(sx * sx + sy * sy);
+      double pad = COLLINEAR_TOLERANCE / length + ROUNDING_MARGIN; //infinite for a still bullet, which may hit anything
+      minX[i] = Math.min(x, x + sx) - pad;
+      maxX[i] = Math.max(x, x + sx) + pad;
+      minY[i] = Math.min(y, y + sy) - pad;
+      maxY[i] = Math.max(y, y + sy) + pad;
+      order[live++] = i;
+      if (length == 0.0) continue;
+      if (sy < 0.0 || (sy == 0.0 && sx < 0.0)) { //the line, whichever way the bullet runs along it
+        sx = -sx;
+        sy = -sy;
+      }
+      angle[i] = 1.0 - sx / (Math.abs(sx) + sy); //grows with the angle, no faster, and at least half as fast
+      offset[i] = (y * sx - x * sy) / length;
+      extent = Math.max(extent, Math.abs(x) + Math.abs(y));
+      lines[moving++] = i;
+    }
+    sort(order, minX, 0, live - 1);
+    pairCount = 0;
+    for (int a = 0; a < live; a++) {
+      int i = order[a];
+      for (int b = a + 1; b < live && minX[order[b]] <= maxX[i]; b++) {
+        int j = order[b];
+        if (minY[j] > maxY[i] || minY[i] > maxY[j]) continue;
+        addPair(Math.min(i, j), Math.max(i, j));
+      }
+    }
+    sweepLines(moving, extent * PARALLEL_TOLERANCE + LINE_TOLERANCE);
+    Arrays.sort(pairs, 0, pairCount);
+    int kept = 0;
+    for (int p = 0; p < pairCount; p++) if (kept == 0 || pairs[p] != pairs[kept - 1]) pairs[kept++] = pairs[p];
+    pairCount = kept;
+  }
+  //pairs of moving bullets whose lines are within the tolerances, the angle wrapping around at 2 where the offset changes sign
+  private void sweepLines(int moving, double offsetTolerance) {
+    sort(lines, angle, 0, moving - 1);
+    for (int a = 0; a < moving; a++) {
+      int i = lines[a];
+      for (int b = a + 1; b < moving && angle[lines[b]] - angle[i] <= PARALLEL_TOLERANCE; b++) {
+        int j = lines[b];
+        if (Math.abs(offset[i] - offset[j]) <= offsetTolerance) addPair(Math.min(i, j), Math.max(i, j));
+      }
+    }
+    for (int a = moving - 1; a >= 0 && angle[lines[a]] > 2.0 - PARALLEL_TOLERANCE; a--) {
+      int i = lines[a];
+      for (int b = 0; b < a && angle[lines[b]] + 2.0 - angle[i] <= PARALLEL_TOLERANCE; b++) {
+        int j = lines[b];
+        if (Math.abs(offset[i] + offset[j]) <= offsetTolerance) addPair(Math.min(i, j), Math.max(i, j));
+      }
+    }
+  }
+  private void addPair(int first, int second) {
+    if (pairCount == pairs.length) pairs = Arrays.copyOf(pairs, pairCount * 2);
+    pairs[pairCount++] = ((long)first << 32) | second;
+  }
+
+  //---SORT---//
+  //quicksort of slots[lo..hi] on key[slot], without boxing the slots
+  private static void sort(int[] slots, double[] key, int lo, int hi) {
+    while (hi - lo > INSERTION_SORT_THRESHOLD) {
+      double pivot = key[slots[(lo + hi) >>> 1]];
+      int i = lo, j = hi;
+      while (i <= j) {
+        while (key[slots[i]] < pivot) i++;
+        while (key[slots[j]] > pivot) j--;
+        if (i <= j) {
+          int swap = slots[i];
+          slots[i++] = slots[j];
+          slots[j--] = swap;
+        }
+      }
+      if (j - lo < hi - i) { //recurse on the smaller half
+        sort(slots, key, lo, j);
+        lo = i;
+      } else {
+        sort(slots, key, i, hi);
+        hi = j;
+      }
+    }
+    for (int i = lo + 1; i <= hi; i++) {
+      int slot = slots[i];
+      double value = key[slot];
+      int j = i - 1;
+      while (j >= lo && key[slots[j]] > value) {
+        slots[j + 1] = slots[j];
+        j--;
+      }
+      slots[j + 1] = slot;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package robotsimulator;
+
+import characteristics.MatchConfig;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Checks the bullet-versus-bullet pass of HeadlessEngine against the pairwise scan of SimulatorEngine it replaces.
+ * Each field is a seeded random BulletStore, dense enough for many crossings, with collinear bullets (following one
+ * another or head-on on the same line), axis-aligned, still and dead bullets among them. The candidate pairs of
+ * SweepAndPrune that pass the exact segment test must be every colliding pair of a quadratic pass over the live
+ * bullets, in the same order, and HeadlessEngine.cancelCollisions() must cancel the same bullets as the restarting
+ * scan of SimulatorEngine. Prints the first difference and exits with status 1, or a summary when every field matches.
+ */
+public class SweepAndPruneCheck {
+  public static void main(String[] args) {
+    int fields = 2000, size = 200;
+    long seed = 0;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-fields": fields = Integer.parseInt(args[i + 1]); break;
+        case "-bullets": size = Integer.parseInt(args[i + 1]); break;
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    Random random = new Random(seed);
+    SweepAndPrune sweep = new SweepAndPrune();
+    long collisions = 0, cancelled = 0;
+    for (int f = 0; f < fields; f++) {
+      BulletStore bullets = field(random, size);
+      ArrayList<Long> expected = new ArrayList<Long>(), found = new ArrayList<Long>();
+      for (int i = 0; i < bullets.size(); i++) {
+        for (int j = i + 1; j < bullets.size(); j++) {
+          if (!bullets.isDead(i) && !bullets.isDead(j) && collide(bullets, i, j)) expected.add(pair(i, j));
+        }
+      }
+      sweep.build(bullets);
+      for (int p = 0; p < sweep.getPairCount(); p++) {
+        int i = sweep.getFirst(p), j = sweep.getSecond(p);
+        if (i >= j || (p > 0 && pair(i, j) <= pair(sweep.getFirst(p - 1), sweep.getSecond(p - 1)))) fail(f, "candidate " + i + "-" + j + " out of order");
+        if (collide(bullets, i, j)) found.add(pair(i, j));
+      }
+      if (!found.equals(expected)) fail(f, "missed pairs " + pairs(expected, found) + ", extra pairs " + pairs(found, expected));
+      collisions += expected.size();
+
+      boolean[] expectedDead = scanKills(bullets);
+      for (int i = 0; i < bullets.size(); i++) if (bullets.isDead(i)) cancelled--;
+      HeadlessEngine.cancelCollisions(bullets, sweep);
+      for (int i = 0; i < bullets.size(); i++) {
+        if (bullets.isDead(i) != expectedDead[i]) fail(f, "bullet " + i + (expectedDead[i] ? " survived" : " was cancelled"));
+        if (expectedDead[i]) cancelled++;
+      }
+    }
+    System.out.println(fields + " fields of " + size + " bullets: " + collisions + " colliding pairs and " + cancelled
+        + " cancelled bullets, as the pairwise scan finds them");
+  }
+
+  //---FIELDS---//
+  private static BulletStore field(Random random, int size) {
+    MatchConfig config = MatchConfig.DEFAULT;
+    double velocity = config.getBulletVelocity(), radius = config.getBulletRadius(), range = config.getBulletRange();
+    double side = 4 * velocity * Math.sqrt(size); //a few crossings per bullet
+    BulletStore bullets = new BulletStore();
+    for (int k = 0; k < size; k++) {
+      double x = random.nextDouble() * side, y = random.nextDouble() * side, dir = random.nextDouble() * 2 * Math.PI, speed = velocity;
+      int kind = random.nextInt(20);
+      if (kind < 4 && k > 0) { //on the line of an earlier bullet, following it or head-on, close by or far along the line
+        int other = random.nextInt(k);
+        double along = (random.nextDouble() * 4 - 2) * velocity * (random.nextBoolean() ? 1 : 30);
+        dir = bullets.getHeading(other) + (random.nextBoolean() ? 0.0 : Math.PI);
+        x = bullets.getX(other) + along * Math.cos(bullets.getHeading(other));
+        y = bullets.getY(other) + along * Math.sin(bullets.getHeading(other));
+      } else if (kind < 6) dir = random.nextInt(4) * Math.PI / 2; //exact zero components, or nearly
+      else if (kind < 7) speed = 0.0; //still: a point that any segment through it hits
+      else if (kind < 8 && k > 0) { //on top of an earlier bullet
+        int other = random.nextInt(k);
+        x = bullets.getX(other);
+        y = bullets.getY(other);
+      }
+      bullets.add(x, y, dir, speed, radius, range);
+      if (random.nextInt(20) == 0) bullets.kill(k); //already flagged, as an expired bullet is
+    }
+    return bullets;
+  }
+
+  //---REFERENCE---//
+  //SimulatorEngine's pass: the first colliding pair of the live bullets is removed and the scan starts over; returns the dead flags it leaves
+  private static boolean[] scanKills(BulletStore bullets) {
+    boolean[] killed = new boolean[bullets.size()];
+    ArrayList<Integer> live = new ArrayList<Integer>();
+    for (int i = 0; i < bullets.size(); i++) {
+      if (bullets.isDead(i)) killed[i] = true;
+      else live.add(i);
+    }
+    for (int i = 0; i < live.size(); i++) {
+      for (int j = i + 1; j < live.size(); j++) {
+        if (!collide(bullets, live.get(i), live.get(j))) continue;
+        killed[live.get(i)] = true;
+        killed[live.get(j)] = true;
+        live.remove(j);
+        live.remove(i);
+        i = 0;
+        j = 0;
+      }
+    }
+    return killed;
+  }
+  private static boolean collide(BulletStore bullets, int i, int j) {
+    return HeadlessEngine.segmentCollision(bullets.getX(i), bullets.getY(i), bullets.getStepX(i), bullets.getStepY(i),
+                                           bullets.getX(j), bullets.getY(j), bullets.getStepX(j), bullets.getStepY(j));
+  }
+
+  //---REPORTING---//
+  private static long pair(int first, int second) { return ((long)first << 32) | second; }
+  //pairs of the list that the other one lacks
+  private static String pairs(ArrayList<Long> list, ArrayList<Long> other) {
+    StringBuilder text = new StringBuilder("[");
+    for (long p : list) if (!other.contains(p)) text.append((text.length() > 1) ? " " : "").append(p >>> 32).append('-').append((int)p);
+    return text.append(']').toString();
+  }
+  private static void fail(int field, String difference) {
+    System.out.println("Field " + field + ": " + difference + ".");
+    System.exit(1);
+  }
+}
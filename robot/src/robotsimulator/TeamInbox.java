@@ -0,0 +1,88 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * Team messages received by one bot since its previous Brain.fetchTeamMessages(), as fixed-layout records:
+ * an int kind, an int sender and four double fields, all chosen by the sending brain. Plain String broadcasts
+ * come through too, as TEXT records carrying the string. Records are stored in parallel primitive arrays that
+ * are reused from one fetch to the next, so reading an inbox allocates nothing; a brain must not keep an inbox
+ * across fetches.
+ */
+public final class TeamInbox {
+  //---HARD-CODED-PARAMETERS---//
+  public static final int TEXT = Integer.MIN_VALUE; //kind of a String broadcast, read with getText()
+  public static final int FIELDS = 4;
+  private static final String PREFIX = "#TeamInbox:"; //marks an encoded record in the String fallback
+
+  //---VARIABLES---//
+  private int[] kinds, senders;
+  private double[] fields; //FIELDS per record
+  private String[] texts;
+  private int size;
+
+  //---CONSTRUCTORS---//
+  TeamInbox() {
+    kinds = new int[16];
+    senders = new int[16];
+    fields = new double[16 * FIELDS];
+    texts = new String[16];
+    size = 0;
+  }
+
+  //---GET/SETTERS---//
+  public int size() { return size; }
+  public int getKind(int message) { return kinds[message]; }
+  public int getSender(int message) { return senders[message]; } //-1 for TEXT records
+  public double getField(int message, int field) { return fields[message * FIELDS + field]; }
+  public String getText(int message) { return texts[message]; } //null unless the kind is TEXT
+
+  //---UPDATES---//
+  void clear() {
+    for (int i = 0; i < size; i++) texts[i] = null;
+    size = 0;
+  }
+  void add(int kind, int sender, double a, double b, double c, double d) {
+    if (size == kinds.length) grow();
+    kinds[size] = kind;
+    senders[size] = sender;
+    int f = size * FIELDS;
+    fields[f] = a;
+    fields[f + 1] = b;
+    fields[f + 2] = c;
+    fields[f + 3] = d;
+    size++;
+  }
+  void addText(String text) {
+    add(TEXT, -1, 0, 0, 0, 0);
+    texts[size - 1] = text;
+  }
+  private void grow() {
+    int capacity = kinds.length * 2;
+    kinds = Arrays.copyOf(kinds, capacity);
+    senders = Arrays.copyOf(senders, capacity);
+    fields = Arrays.copyOf(fields, capacity * FIELDS);
+    texts = Arrays.copyOf(texts, capacity);
+  }
+
+  //---STRING-FALLBACK---//
+  //Swing SimulatorEngine of the jar only carries Strings: records travel there in this exact, parse-once form
+  static String encode(int kind, int sender, double a, double b, double c, double d) {
+    return PREFIX + kind + ":" + sender + ":" + Long.toHexString(Double.doubleToRawLongBits(a)) + ":" + Long.toHexString(Double.doubleToRawLongBits(b))
+        + ":" + Long.toHexString(Double.doubleToRawLongBits(c)) + ":" + Long.toHexString(Double.doubleToRawLongBits(d));
+  }
+  void addDecoded(String message) {
+    if (!message.startsWith(PREFIX)) {
+      addText(message);
+      return;
+    }
+    String[] parts = message.substring(PREFIX.length()).split(":");
+    try {
+      add(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+          Double.longBitsToDouble(Long.parseUnsignedLong(parts[2], 16)), Double.longBitsToDouble(Long.parseUnsignedLong(parts[3], 16)),
+          Double.longBitsToDouble(Long.parseUnsignedLong(parts[4], 16)), Double.longBitsToDouble(Long.parseUnsignedLong(parts[5], 16)));
+    } catch (RuntimeException e) {
+      addText(message); //not one of ours after all
+    }
+  }
+}
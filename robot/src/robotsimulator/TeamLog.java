@@ -0,0 +1,119 @@
+package robotsimulator;
+
+import java.util.ArrayList;
+
+/**
+ * Append-only log of the broadcasts of one team in a HeadlessEngine, shared by all its bots.
+ * A broadcast is written once, whatever the team size; each reader keeps the sequence number of the next entry
+ * it has not read and copies out what lies between it and the tail on fetch. Entries are kept in a ring indexed
+ * by sequence number, so entries every live reader has gone past are reclaimed without moving the others.
+ * Both the String and the typed channel go through the same log, in broadcast order; a reader keeps a cursor per
+ * channel it fetches from. Typed records of a kind with a declared TextForms entry reach the String channel too,
+ * rendered for each String reader on fetch; other typed records stay on the typed channel. A bot that has not fetched yet is not a reader: it holds nothing back, and on its first
+ * fetch gets the entries from the oldest one still kept.
+ */
+class TeamLog {
+  //---VARIABLES---//
+  private int[] kinds, senders;
+  private double[] fields; //TeamInbox.FIELDS per entry
+  private String[] texts; //null unless the kind is TeamInbox.TEXT
+  private int mask; //capacity - 1, capacity being a power of two
+  private long head, tail; //sequence numbers of the oldest kept entry and of the next entry
+  private final TextForms textForms; //declared by the team's brains
+
+  //---CONSTRUCTORS---//
+  TeamLog() {
+    kinds = new int[64];
+    senders = new int[64];
+    fields = new double[64 * TeamInbox.FIELDS];
+    texts = new String[64];
+    mask = 63;
+    head = 0;
+    tail = 0;
+    textForms = new TextForms();
+  }
+
+  //---GET/SETTERS---//
+  long getTail() { return tail; }
+  TextForms getTextForms() { return textForms; }
+
+  //---WRITING---//
+  void append(String text) {
+    int i = reserve();
+    kinds[i] = TeamInbox.TEXT;
+    senders[i] = -1;
+    texts[i] = text;
+  }
+  void append(int kind, int sender, double a, double b, double c, double d) {
+    int i = reserve();
+    kinds[i] = kind;
+    senders[i] = sender;
+    int f = i * TeamInbox.FIELDS;
+    fields[f] = a;
+    fields[f + 1] = b;
+    fields[f + 2] = c;
+    fields[f + 3] = d;
+  }
+  private int reserve() {
+    if (tail - head > mask) grow();
+    return (int)(tail++ & mask);
+  }
+  private void grow() { //unrolls the ring so that entries keep their sequence number modulo the new capacity
+    int capacity = (mask + 1) * 2, newMask = capacity - 1;
+    int[] newKinds = new int[capacity], newSenders = new int[capacity];
+    double[] newFields = new double[capacity * TeamInbox.FIELDS];
+    String[] newTexts = new String[capacity];
+    for (long s = head; s < tail; s++) {
+      int from = (int)(s & mask), to = (int)(s & newMask);
+      newKinds[to] = kinds[from];
+      newSenders[to] = senders[from];
+      System.arraycopy(fields, from * TeamInbox.FIELDS, newFields, to * TeamInbox.FIELDS, TeamInbox.FIELDS);
+      newTexts[to] = texts[from];
+    }
+    kinds = newKinds;
+    senders = newSenders;
+    fields = newFields;
+    texts = newTexts;
+    mask = newMask;
+  }
+  /** Drops the entries before the given sequence number, once no live reader needs them. */
+  void release(long upTo) {
+    for (; head < upTo && head < tail; head++) texts[(int)(head & mask)] = null;
+  }
+
+  //---READING---//
+  /** Adds the String broadcasts and the text forms of typed records from the given sequence number on to the list and returns the new cursor. */
+  long readTexts(long from, ArrayList<String> into) {
+    boolean forms = !textForms.isEmpty();
+    for (long s = Math.max(from, head); s < tail; s++) {
+      int i = (int)(s & mask);
+      if (kinds[i] == TeamInbox.TEXT) into.add(texts[i]);
+      else if (forms) {
+        int f = i * TeamInbox.FIELDS;
+        String text = textForms.render(kinds[i], senders[i], fields[f], fields[f + 1], fields[f + 2], fields[f + 3]);
+        if (text != null) into.add(text);
+      }
+    }
+    return tail;
+  }
+  int countTexts(long from) { //typed records of a declared kind included: an upper bound for the list
+    if (textForms.isEmpty()) {
+      int count = 0;
+      for (long s = Math.max(from, head); s < tail; s++) if (kinds[(int)(s & mask)] == TeamInbox.TEXT) count++;
+      return count;
+    }
+    return (int)(tail - Math.max(from, head));
+  }
+  /** Adds every entry from the given sequence number on to the inbox and returns the new cursor. */
+  long readAll(long from, TeamInbox into) {
+    for (long s = Math.max(from, head); s < tail; s++) {
+      int i = (int)(s & mask);
+      if (kinds[i] == TeamInbox.TEXT) into.addText(texts[i]);
+      else {
+        int f = i * TeamInbox.FIELDS;
+        into.add(kinds[i], senders[i], fields[f], fields[f + 1], fields[f + 2], fields[f + 3]);
+      }
+    }
+    return tail;
+  }
+}
@@ -0,0 +1,66 @@
+package robotsimulator;
+
+import java.util.Arrays;
+
+/**
+ * Text forms declared for kinds of typed team messages: a record of such a kind reads as the String
+ * "tag|sender|a|b|c|d" for a brain that fetches with fetchAllMessages(), so typed senders and String readers can
+ * share a team. The text is only built for those readers; typed readers get the record as it was sent.
+ * Declarations are copied on write, so brains on their own threads can read them while a team mate declares.
+ */
+final class TextForms {
+  //---VARIABLES---//
+  private volatile int[] kinds = new int[0];
+  private volatile String[] tags = new String[0];
+
+  //---DECLARATIONS---//
+  synchronized void declare(int kind, String tag) {
+    if (kind == TeamInbox.TEXT || tag.isEmpty() || tag.indexOf('|') >= 0) throw new IllegalArgumentException("No text form " + tag + " for kind " + kind + ".");
+    int[] k = kinds;
+    for (int i = 0; i < k.length; i++) {
+      if (k[i] == kind) {
+        String[] t = tags.clone();
+        t[i] = tag;
+        tags = t;
+        return;
+      }
+    }
+    String[] t = Arrays.copyOf(tags, k.length + 1);
+    t[k.length] = tag;
+    tags = t; //tags first: a reader that sees the new kind also sees its tag
+    k = Arrays.copyOf(k, k.length + 1);
+    k[k.length - 1] = kind;
+    kinds = k;
+  }
+  boolean isEmpty() { return kinds.length == 0; }
+
+  //---RENDERING---//
+  /** Text form of a record, null when its kind has none. */
+  String render(int kind, int sender, double a, double b, double c, double d) {
+    int[] k = kinds;
+    for (int i = 0; i < k.length; i++) {
+      if (k[i] == kind) return tags[i] + "|" + sender + "|" + a + "|" + b + "|" + c + "|" + d;
+    }
+    return null;
+  }
+  /** Adds the record a declared text form stands for to the inbox; false when the text is not one. */
+  boolean decode(String text, TeamInbox into) {
+    int bar = text.indexOf('|');
+    if (bar < 0) return false;
+    int[] k = kinds;
+    String[] t = tags;
+    for (int i = 0; i < k.length; i++) {
+      if (t[i].length() != bar || !text.startsWith(t[i])) continue;
+      String[] parts = text.split("\\|");
+      if (parts.length != 6) return false;
+      try {
+        into.add(k[i], Integer.parseInt(parts[1]), Double.parseDouble(parts[2]), Double.parseDouble(parts[3]),
+                 Double.parseDouble(parts[4]), Double.parseDouble(parts[5]));
+        return true;
+      } catch (NumberFormatException e) {
+        return false;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,78 @@
+package robotsimulator;
+
+/**
+ * Log-linear histogram of durations in nanoseconds.
+ * Values below 16 ns have a bucket each; above, every power of two is split in 8 buckets, so a percentile is
+ * reported with at most 12.5% error whatever the magnitude, in a fixed 500-slot array. Count, total and max are exact.
+ */
+public class TimingHistogram {
+  //---HARD-CODED-PARAMETERS---//
+  private static final int SUB_BUCKETS = 8, SUB_BITS = 3, LINEAR = 16;
+
+  //---VARIABLES---//
+  private final long[] buckets;
+  private long count, total, max;
+
+  //---CONSTRUCTORS---//
+  public TimingHistogram() { buckets = new long[LINEAR + (64 - 4) * SUB_BUCKETS]; }
+  public TimingHistogram(TimingHistogram other) {
+    buckets = other.buckets.clone();
+    count = other.count;
+    total = other.total;
+    max = other.max;
+  }
+
+  //---GET/SETTERS---//
+  public long getCount() { return count; }
+  public long getTotal() { return total; }
+  public long getMax() { return max; }
+  public double getMean() { return count == 0 ? 0 : (double)total / count; }
+  /** Upper bound of the bucket holding the given fraction (0..1) of the values, capped by the exact max. */
+  public long getPercentile(double fraction) {
+    if (count == 0) return 0;
+    long rank = Math.max(1, (long)Math.ceil(fraction * count)), seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank) return Math.min(upperBound(i), max);
+    }
+    return max;
+  }
+
+  //---UPDATES---//
+  public void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    buckets[bucket(nanos)]++;
+    count++;
+    total += nanos;
+    if (nanos > max) max = nanos;
+  }
+  public void add(TimingHistogram other) {
+    for (int i = 0; i < buckets.length; i++) buckets[i] += other.buckets[i];
+    count += other.count;
+    total += other.total;
+    max = Math.max(max, other.max);
+  }
+
+  //---BUCKETS---//
+  private static int bucket(long v) {
+    if (v < LINEAR) return (int)v;
+    int exponent = 63 - Long.numberOfLeadingZeros(v); //>= 4
+    int sub = (int)(v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+  }
+  private static long upperBound(int bucket) {
+    if (bucket < LINEAR) return bucket;
+    int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4, sub = (bucket - LINEAR) % SUB_BUCKETS;
+    long width = 1L << (exponent - SUB_BITS);
+    return (1L << exponent) + (sub + 1) * width - 1;
+  }
+
+  public String toString() {
+    return "p50 " + format(getPercentile(0.5)) + ", p99 " + format(getPercentile(0.99)) + ", max " + format(max) + " (" + count + " calls)";
+  }
+  static String format(long nanos) {
+    if (nanos < 10000) return nanos + " ns";
+    if (nanos < 10000000) return (nanos / 1000) + " us";
+    return (nanos / 1000000) + " ms";
+  }
+}
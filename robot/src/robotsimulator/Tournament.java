@@ -0,0 +1,290 @@
+package robotsimulator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.jar.JarEntry;
+
+import characteristics.MatchConfig;
+
+/**
+ * Round-robin tournament between every concrete Brain found in the algorithms package.
+ * A team is a (main brain, secondary brain) pairing; every ordered pair of distinct teams is played once per round,
+ * so each confrontation is seen from both sides of the arena. All matches of a round share one seed.
+ * Matches are independent HeadlessEngine runs spread over a ForkJoinPool, and the result is written as a CSV matrix
+ * "wins/losses/draws/health differential" read from the row team's point of view.
+ */
+public class Tournament {
+  //---HARD-CODED-PARAMETERS---//
+  private static final String BRAIN_PACKAGE = "algorithms";
+  private static final int SEQUENTIAL_THRESHOLD = 4; //matches per leaf task
+
+  //---VARIABLES---//
+  private final ArrayList<String> mains, secondaries;
+  private final int tickLimit, rounds;
+  private final long seed;
+  private Path replays; //null unless every match is recorded
+  private long stepBudget, hangTimeout; //see MatchConfig.getStepBudget() and getHangTimeout()
+  private int[][] wins, losses, draws;
+  private double[][] healthDifferential;
+  private int failures;
+
+  //---CONSTRUCTORS---//
+  public Tournament(ArrayList<String> mains, ArrayList<String> secondaries, int tickLimit, long seed, int rounds) {
+    this.mains = mains;
+    this.secondaries = secondaries;
+    this.tickLimit = tickLimit;
+    this.seed = seed;
+    this.rounds = rounds;
+  }
+
+  //---GET/SETTERS---//
+  public int getTeamCount() { return mains.size() * secondaries.size(); }
+  public String getTeamName(int team) {
+    return shortName(mains.get(team / secondaries.size())) + "+" + shortName(secondaries.get(team % secondaries.size()));
+  }
+  public int getWins(int team, int opponent) { return wins[team][opponent]; }
+  public int getLosses(int team, int opponent) { return losses[team][opponent]; }
+  public int getDraws(int team, int opponent) { return draws[team][opponent]; }
+  public double getHealthDifferential(int team, int opponent) { return healthDifferential[team][opponent]; }
+  public int getFailures() { return failures; }
+  public void setReplayDirectory(Path replays) { this.replays = replays; } //one file per match, named after round and teams
+  public void setStepBudget(long budgetNanos, long hangTimeoutNanos) {
+    this.stepBudget = budgetNanos;
+    this.hangTimeout = hangTimeoutNanos;
+  }
+  private static String shortName(String className) { return className.substring(className.lastIndexOf('.') + 1); }
+
+  //---TOURNAMENT---//
+  public void play(ForkJoinPool pool) {
+    int teams = getTeamCount();
+    int[] teamA = new int[rounds * teams * (teams - 1)], teamB = new int[teamA.length], round = new int[teamA.length];
+    int n = 0;
+    for (int r = 0; r < rounds; r++) for (int a = 0; a < teams; a++) for (int b = 0; b < teams; b++) {
+      if (a == b) continue;
+      teamA[n] = a;
+      teamB[n] = b;
+      round[n] = r;
+      n++;
+    }
+    MatchResult[] results = new MatchResult[n];
+    pool.invoke(new MatchTask(teamA, teamB, round, results, 0, n));
+
+    wins = new int[teams][teams];
+    losses = new int[teams][teams];
+    draws = new int[teams][teams];
+    healthDifferential = new double[teams][teams];
+    failures = 0;
+    for (int i = 0; i < n; i++) {
+      int a = teamA[i], b = teamB[i];
+      MatchResult result = results[i];
+      if (result == null) {
+        failures++;
+        continue;
+      }
+      switch (result.getWinner()) {
+        case TEAM_A: wins[a][b]++; losses[b][a]++; break;
+        case TEAM_B: losses[a][b]++; wins[b][a]++; break;
+        default: draws[a][b]++; draws[b][a]++; break;
+      }
+      healthDifferential[a][b] += result.getHealthDifferential();
+      healthDifferential[b][a] -= result.getHealthDifferential();
+    }
+  }
+  private MatchResult playMatch(int a, int b, int round) {
+    int sA = secondaries.size();
+    MatchConfig config = MatchConfig.DEFAULT.withBrains(mains.get(a / sA), secondaries.get(a % sA), mains.get(b / sA), secondaries.get(b % sA))
+                                            .withSeed(seed + round) //every pairing of a round shares its seed, so results can be compared pairwise
+                                            .withStepBudget(stepBudget, hangTimeout);
+    HeadlessEngine engine = new HeadlessEngine(config);
+    if (replays == null) {
+      try {
+        return reportCutOffs(engine.run(tickLimit), a, b);
+      } catch (RuntimeException e) {
+        System.err.println("Match " + getTeamName(a) + " vs " + getTeamName(b) + " aborted: " + e);
+        return null;
+      }
+    }
+    try (ReplayRecorder recorder = new ReplayRecorder(replays.resolve("r" + round + "_" + getTeamName(a) + "_vs_" + getTeamName(b) + ".replay"))) {
+      engine.setRecorder(recorder);
+      return reportCutOffs(engine.run(tickLimit), a, b);
+    } catch (IOException | RuntimeException e) {
+      System.err.println("Match " + getTeamName(a) + " vs " + getTeamName(b) + " aborted: " + e);
+      return null;
+    }
+  }
+  private MatchResult reportCutOffs(MatchResult result, int a, int b) {
+    if (!result.hasCutOffBrain()) return result;
+    for (int i = 0; i < result.getBotCount(); i++) {
+      BrainTiming timing = result.getBrainTiming(i);
+      if (timing.isCutOff()) System.err.println("Match " + getTeamName(a) + " vs " + getTeamName(b) + ": bot " + i + " cut off at tick " + timing.getCutOffTick() + ".");
+    }
+    return result;
+  }
+  private class MatchTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int[] teamA, teamB, round;
+    private final MatchResult[] results;
+    private final int from, to;
+    MatchTask(int[] teamA, int[] teamB, int[] round, MatchResult[] results, int from, int to) {
+      this.teamA = teamA;
+      this.teamB = teamB;
+      this.round = round;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+    protected void compute() {
+      if (to - from <= SEQUENTIAL_THRESHOLD) {
+        for (int i = from; i < to; i++) results[i] = playMatch(teamA[i], teamB[i], round[i]);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new MatchTask(teamA, teamB, round, results, from, middle), new MatchTask(teamA, teamB, round, results, middle, to));
+    }
+  }
+
+  //---OUTPUT---//
+  public void writeMatrix(PrintWriter out) {
+    int teams = getTeamCount();
+    out.print("team");
+    for (int b = 0; b < teams; b++) out.print("," + getTeamName(b));
+    out.println(",wins,losses,draws,healthDifferential");
+    for (int a = 0; a < teams; a++) {
+      out.print(getTeamName(a));
+      int w = 0, l = 0, d = 0;
+      double hp = 0;
+      for (int b = 0; b < teams; b++) {
+        if (a == b) {
+          out.print(",-");
+          continue;
+        }
+        out.print("," + wins[a][b] + "/" + losses[a][b] + "/" + draws[a][b] + "/" + (int)healthDifferential[a][b]);
+        w += wins[a][b];
+        l += losses[a][b];
+        d += draws[a][b];
+        hp += healthDifferential[a][b];
+      }
+      out.println("," + w + "," + l + "," + d + "," + (int)hp);
+    }
+    out.flush();
+  }
+
+  //---BRAIN-DISCOVERY---//
+  public static ArrayList<String> findBrains() throws IOException {
+    TreeSet<String> names = new TreeSet<String>();
+    ClassLoader loader = Tournament.class.getClassLoader();
+    Enumeration<URL> roots = loader.getResources(BRAIN_PACKAGE);
+    while (roots.hasMoreElements()) {
+      URL root = roots.nextElement();
+      if ("file".equals(root.getProtocol())) {
+        File[] files = new File(URLDecoder.decode(root.getPath(), "UTF-8")).listFiles();
+        if (files == null) continue;
+        for (File file : files) addIfClass(names, file.getName());
+      } else if ("jar".equals(root.getProtocol())) {
+        Enumeration<JarEntry> entries = ((JarURLConnection)root.openConnection()).getJarFile().entries();
+        while (entries.hasMoreElements()) {
+          String entry = entries.nextElement().getName();
+          if (entry.startsWith(BRAIN_PACKAGE + "/") && entry.indexOf('/', BRAIN_PACKAGE.length() + 1) < 0)
+            addIfClass(names, entry.substring(BRAIN_PACKAGE.length() + 1));
+        }
+      }
+    }
+    ArrayList<String> brains = new ArrayList<String>();
+    for (String name : names) {
+      try {
+        Class<?> c = Class.forName(name, false, loader);
+        if (!Brain.class.isAssignableFrom(c) || Modifier.isAbstract(c.getModifiers())) continue;
+        c.getConstructor();
+        brains.add(name);
+      } catch (ReflectiveOperationException | LinkageError e) {
+        //not an instantiable brain
+      }
+    }
+    return brains;
+  }
+  private static void addIfClass(TreeSet<String> names, String fileName) {
+    if (fileName.endsWith(".class") && fileName.indexOf('$') < 0)
+      names.add(BRAIN_PACKAGE + "." + fileName.substring(0, fileName.length() - ".class".length()));
+  }
+
+  //---BATCH-ENTRY-POINT---//
+  public static void main(String[] args) throws IOException {
+    ArrayList<String> mains = null, secondaries = null;
+    int tickLimit = HeadlessEngine.DEFAULT_TICK_LIMIT;
+    int threads = Runtime.getRuntime().availableProcessors(), rounds = 1;
+    long seed = MatchConfig.DEFAULT.getSeed(), budget = 0, hangTimeout = 0;
+    String output = "tournament.csv";
+    Path replays = null;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-mains": mains = qualify(args[i + 1]); break;
+        case "-secondaries": secondaries = qualify(args[i + 1]); break;
+        case "-ticks": tickLimit = Integer.parseInt(args[i + 1]); break;
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        case "-rounds": rounds = Integer.parseInt(args[i + 1]); break;
+        case "-threads": threads = Integer.parseInt(args[i + 1]); break;
+        case "-out": output = args[i + 1]; break;
+        case "-record": replays = Paths.get(args[i + 1]); break;
+        case "-budget": budget = (long)(Double.parseDouble(args[i + 1]) * 1e3); break; //microseconds
+        case "-hang": hangTimeout = (long)(Double.parseDouble(args[i + 1]) * 1e6); break; //milliseconds
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    ArrayList<String> brains = findBrains();
+    if (mains == null) mains = brains;
+    if (secondaries == null) secondaries = brains;
+    if (mains.isEmpty() || secondaries.isEmpty()) {
+      System.err.println("No brain found in package " + BRAIN_PACKAGE + ".");
+      return;
+    }
+
+    Tournament tournament = new Tournament(mains, secondaries, tickLimit, seed, rounds);
+    tournament.setStepBudget(budget, hangTimeout);
+    if (replays != null) {
+      Files.createDirectories(replays);
+      tournament.setReplayDirectory(replays);
+    }
+    int teams = tournament.getTeamCount();
+    System.out.println(teams + " teams, " + rounds * teams * (teams - 1) + " matches on " + threads + " threads.");
+    long start = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      tournament.play(pool);
+    } finally {
+      pool.shutdown();
+    }
+    System.out.println("Done in " + String.format("%.1f", (System.nanoTime() - start) / 1e9) + " s"
+        + (tournament.getFailures() > 0 ? " (" + tournament.getFailures() + " aborted matches)" : "") + ".");
+
+    PrintWriter out = new PrintWriter(output, "UTF-8");
+    try {
+      tournament.writeMatrix(out);
+    } finally {
+      out.close();
+    }
+    System.out.println("Matrix written to " + output + ".");
+  }
+  private static ArrayList<String> qualify(String list) {
+    ArrayList<String> names = new ArrayList<String>();
+    for (String name : list.split(",")) {
+      if (name.isEmpty()) continue;
+      names.add(name.indexOf('.') < 0 ? BRAIN_PACKAGE + "." + name : name);
+    }
+    Collections.sort(names);
+    return names;
+  }
+}
@@ -0,0 +1,73 @@
+package robotsimulator;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * State of a HeadlessEngine after one tick, published for readers on other threads (viewers, metrics...).
+ * The engine owns two of them and fills the one not on display, then swaps it in through a volatile reference;
+ * a reader pins the snapshot it got from HeadlessEngine.acquireSnapshot() until close(), and the engine never
+ * refills a pinned snapshot, so what a reader sees is one whole tick and does not change under it. A reader still
+ * holding the older buffer when the next tick is due costs a fresh buffer, never a wait or a skipped tick.
+ * <pre>
+ *   try (WorldSnapshot world = engine.acquireSnapshot()) { ... }
+ * </pre>
+ */
+public final class WorldSnapshot implements ArenaState, AutoCloseable {
+  //---VARIABLES---//
+  private final AtomicInteger readers;
+  int tick;
+  final double[] botX, botY, botHeading, botHealth;
+  final boolean[] botDestroyed;
+  double[] bulletX, bulletY;
+  int bulletCount;
+  double[] explosionX, explosionY;
+  int explosionCount;
+
+  //---CONSTRUCTORS---//
+  WorldSnapshot(int botCount) {
+    readers = new AtomicInteger();
+    botX = new double[botCount];
+    botY = new double[botCount];
+    botHeading = new double[botCount];
+    botHealth = new double[botCount];
+    botDestroyed = new boolean[botCount];
+    bulletX = new double[64];
+    bulletY = new double[64];
+    explosionX = new double[16];
+    explosionY = new double[16];
+  }
+
+  //---GET/SETTERS---//
+  public int getTick() { return tick; }
+  public int getBotCount() { return botX.length; }
+  public double getBotX(int bot) { return botX[bot]; }
+  public double getBotY(int bot) { return botY[bot]; }
+  public double getBotHeading(int bot) { return botHeading[bot]; }
+  public double getBotHealth(int bot) { return botHealth[bot]; }
+  public boolean isBotDestroyed(int bot) { return botDestroyed[bot]; }
+  public int getBulletCount() { return bulletCount; }
+  public double getBulletX(int i) { return bulletX[i]; }
+  public double getBulletY(int i) { return bulletY[i]; }
+  public int getExplosionCount() { return explosionCount; }
+  public double getExplosionX(int i) { return explosionX[i]; }
+  public double getExplosionY(int i) { return explosionY[i]; }
+
+  //---PINNING---//
+  void pin() { readers.incrementAndGet(); }
+  boolean isPinned() { return readers.get() != 0; }
+  /** Releases the snapshot to the engine. It must not be read afterwards. */
+  public void close() { readers.decrementAndGet(); }
+
+  //---CAPACITY---//
+  void ensureBullets(int n) {
+    if (n <= bulletX.length) return;
+    bulletX = Arrays.copyOf(bulletX, Math.max(n, bulletX.length * 2));
+    bulletY = Arrays.copyOf(bulletY, bulletX.length);
+  }
+  void ensureExplosions(int n) {
+    if (n <= explosionX.length) return;
+    explosionX = Arrays.copyOf(explosionX, Math.max(n, explosionX.length * 2));
+    explosionY = Arrays.copyOf(explosionY, explosionX.length);
+  }
+}
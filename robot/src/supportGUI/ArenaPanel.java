@@ -0,0 +1,97 @@
+package supportGUI;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+
+import characteristics.MatchConfig;
+import robotsimulator.ArenaState;
+import robotsimulator.HeadlessEngine;
+
+/**
+ * Top view of the arena at one tick: bots as their avatars, or team-colored circles with their heading, bullets and explosions.
+ * Shared by the replay and live viewers. The state set with setState() is read while painting on the event dispatch
+ * thread, so its owner changes it on that thread only; a viewer of a running engine paints a pinned snapshot instead.
+ */
+class ArenaPanel extends JPanel {
+  //---HARD-CODED-PARAMETERS---//
+  private static final long serialVersionUID = 1L;
+
+  //---VARIABLES---//
+  private final double arenaWidth, arenaHeight, bulletRadius;
+  private final int[] teams; //team identifiers are RGB colors
+  private final boolean[] mainBots;
+  private final double[] radii;
+  private final String[] avatars; //image file of each bot, null to draw circles only
+  private final SpriteCache sprites;
+  private ArenaState state;
+
+  //---CONSTRUCTORS---//
+  ArenaPanel(double arenaWidth, double arenaHeight, double bulletRadius, int[] teams, boolean[] mainBots, double[] radii, String[] avatars) {
+    this.arenaWidth = arenaWidth;
+    this.arenaHeight = arenaHeight;
+    this.bulletRadius = bulletRadius;
+    this.teams = teams;
+    this.mainBots = mainBots;
+    this.radii = radii;
+    this.avatars = avatars;
+    this.sprites = new SpriteCache();
+    setPreferredSize(new Dimension(1200, 800));
+    setBackground(Color.WHITE);
+  }
+
+  //---GET/SETTERS---//
+  void setState(ArenaState state) {
+    this.state = state;
+    repaint();
+  }
+  protected String getBotLabel(ArenaState frame, int bot) { return (int)frame.getBotHealth(bot) + " hp"; }
+
+  static String[] avatarsOf(MatchConfig config, int[] teams, boolean[] mainBots) { //the profile of each bot, from its team and rank
+    String[] avatars = new String[teams.length];
+    for (int i = 0; i < teams.length; i++) {
+      if (teams[i] == HeadlessEngine.TEAM_A) avatars[i] = (mainBots[i] ? config.getTeamAMainBot() : config.getTeamASecondaryBot()).getAvatar();
+      else avatars[i] = (mainBots[i] ? config.getTeamBMainBot() : config.getTeamBSecondaryBot()).getAvatar();
+    }
+    return avatars;
+  }
+
+  //---DRAWING---//
+  public void paintComponent(Graphics g) { paintState(g, state); }
+  protected void paintState(Graphics g, ArenaState frame) {
+    super.paintComponent(g);
+    if (frame == null) return;
+    Graphics2D g2d = (Graphics2D)g;
+    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    double scale = Math.min(getWidth() / arenaWidth, getHeight() / arenaHeight);
+    g2d.setColor(Color.LIGHT_GRAY);
+    g2d.drawRect(0, 0, (int)(arenaWidth * scale), (int)(arenaHeight * scale));
+
+    for (int i = 0; i < frame.getBotCount(); i++) {
+      double x = frame.getBotX(i) * scale, y = frame.getBotY(i) * scale, r = radii[i] * scale;
+      BufferedImage sprite = (avatars == null || frame.isBotDestroyed(i)) ? null : sprites.get(avatars[i], (int)Math.round(2 * r), frame.getBotHeading(i));
+      g2d.setColor(frame.isBotDestroyed(i) ? Color.GRAY : new Color(teams[i]));
+      g2d.setStroke(new BasicStroke(mainBots[i] ? 3 : 1));
+      if (sprite != null) g2d.drawImage(sprite, (int)x - sprite.getWidth() / 2, (int)y - sprite.getHeight() / 2, null);
+      else g2d.drawLine((int)x, (int)y, (int)(x + r * Math.cos(frame.getBotHeading(i))), (int)(y + r * Math.sin(frame.getBotHeading(i))));
+      g2d.drawOval((int)(x - r), (int)(y - r), (int)(2 * r), (int)(2 * r));
+      g2d.setColor(Color.DARK_GRAY);
+      g2d.drawString(getBotLabel(frame, i), (int)(x - r), (int)(y - r - 4));
+    }
+    g2d.setStroke(new BasicStroke(1));
+    g2d.setColor(Color.BLACK);
+    double br = bulletRadius * scale;
+    for (int i = 0; i < frame.getBulletCount(); i++)
+      g2d.fillOval((int)(frame.getBulletX(i) * scale - br), (int)(frame.getBulletY(i) * scale - br), (int)Math.max(2, 2 * br), (int)Math.max(2, 2 * br));
+    g2d.setColor(Color.ORANGE);
+    double er = 4 * br;
+    for (int i = 0; i < frame.getExplosionCount(); i++)
+      g2d.fillOval((int)(frame.getExplosionX(i) * scale - er), (int)(frame.getExplosionY(i) * scale - er), (int)(2 * er), (int)(2 * er));
+  }
+}
@@ -7,53 +7,69 @@
 package supportGUI;
 
 import characteristics.IBrain;
-import characteristics.Parameters;
+import characteristics.MatchConfig;
 
 public class FileLoader {
+  //---VARIABLES---//
+  private MatchConfig config;
+
   //---CONSTRUCTORS---//
-  public FileLoader(){}
+  public FileLoader(){
+    this(MatchConfig.DEFAULT);
+  }
+  public FileLoader(String teamAMainBotBrainClassName, String teamASecondaryBotBrainClassName,
+                    String teamBMainBotBrainClassName, String teamBSecondaryBotBrainClassName){
+    this(MatchConfig.DEFAULT.withBrains(teamAMainBotBrainClassName, teamASecondaryBotBrainClassName,
+                                        teamBMainBotBrainClassName, teamBSecondaryBotBrainClassName));
+  }
+  public FileLoader(MatchConfig config){
+    this.config=config;
+  }
   
   //---GET/SETTERS---//
+  public MatchConfig getMatchConfig() {
+    return config;
+  }
   public IBrain getTeamAMainBotBrain() {
-    return HardCodedParameters.instantiate(Parameters.teamAMainBotBrainClassName, IBrain.class);
+    return HardCodedParameters.instantiate(config.getTeamAMainBot().getBrainClassName(), IBrain.class);
   }
   public IBrain getTeamASecondaryBotBrain() {
-    return HardCodedParameters.instantiate(Parameters.teamASecondaryBotBrainClassName, IBrain.class);
+    return HardCodedParameters.instantiate(config.getTeamASecondaryBot().getBrainClassName(), IBrain.class);
   }
   public IBrain getTeamBMainBotBrain() {
-    return HardCodedParameters.instantiate(Parameters.teamBMainBotBrainClassName, IBrain.class);
+    return HardCodedParameters.instantiate(config.getTeamBMainBot().getBrainClassName(), IBrain.class);
   }
   public IBrain getTeamBSecondaryBotBrain() {
-    return HardCodedParameters.instantiate(Parameters.teamBSecondaryBotBrainClassName, IBrain.class);
+    return HardCodedParameters.instantiate(config.getTeamBSecondaryBot().getBrainClassName(), IBrain.class);
   }
   public String getTeamAMainBotAvatarFileName() {
-    return Parameters.teamAMainBotAvatar;
+    return config.getTeamAMainBot().getAvatar();
   }
   public String getTeamASecondaryBotAvatarFileName() {
-    return Parameters.teamASecondaryBotAvatar;
+    return config.getTeamASecondaryBot().getAvatar();
   }
   public String getTeamBMainBotAvatarFileName() {
-    return Parameters.teamBMainBotAvatar;
+    return config.getTeamBMainBot().getAvatar();
   }
   public String getTeamBSecondaryBotAvatarFileName() {
-    return Parameters.teamBSecondaryBotAvatar;
+    return config.getTeamBSecondaryBot().getAvatar();
   }
   public String getTeamAName() {
-    return Parameters.teamAName;
+    return config.getTeamAName();
   }
   public String getTeamBName() {
-    return Parameters.teamBName;
+    return config.getTeamBName();
   }
   public double getTeamAMainBotSpeed() {
-    return Parameters.teamAMainBotSpeed;
+    return config.getTeamAMainBot().getSpeed();
   }
   public double getTeamASecondaryBotSpeed() {
-    return Parameters.teamASecondaryBotSpeed;
+    return config.getTeamASecondaryBot().getSpeed();
   }
   public double getTeamBMainBotSpeed() {
-    return Parameters.teamBMainBotSpeed;
+    return config.getTeamBMainBot().getSpeed();
   }
   public double getTeamBSecondaryBotSpeed() {
-    return Parameters.teamBSecondaryBotSpeed;
+    return config.getTeamBSecondaryBot().getSpeed();
   }
 }
@@ -0,0 +1,203 @@
+package supportGUI;
+
+import java.awt.BorderLayout;
+import java.awt.Graphics;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import characteristics.MatchConfig;
+import robotsimulator.Bot;
+import robotsimulator.HeadlessEngine;
+import robotsimulator.MatchResult;
+import robotsimulator.WorldSnapshot;
+
+/**
+ * Live view of a HeadlessEngine match.
+ * The match runs on its own thread at 1x (one tick per 10 ms, the pace of Viewer), 10x, 100x or unlimited speed.
+ * The engine publishes a WorldSnapshot after every tick and the window repaints at a fixed frame rate from whichever
+ * is the latest: ticks between two frames are never drawn, and painting never holds the match back.
+ */
+public class LiveViewer extends JFrame {
+  //---HARD-CODED-PARAMETERS---//
+  private static final long serialVersionUID = 1L;
+  private static final long TICK_PERIOD = 10000000L; //ns per tick at 1x
+  private static final long MAX_LAG = 100000000L; //ns behind schedule after which the pace restarts instead of catching up
+  private static final int FRAME_PERIOD = 16; //ms, about 60 frames per second
+  private static final String[] SPEED_NAMES = {"1x", "10x", "100x", "unlimited"};
+  private static final int[] SPEEDS = {1, 10, 100, 0}; //0: as fast as the engine goes
+
+  //---VARIABLES---//
+  private final HeadlessEngine engine; //owned by the simulation thread once started
+  private final int tickLimit;
+  private final ArenaPanel arena;
+  private final JLabel status;
+  private final JButton play;
+  private final Timer frameClock;
+  private final Thread simulation;
+  private final Object pauseLock = new Object();
+  private volatile int speed;
+  private volatile boolean paused, closed;
+  private volatile MatchResult result;
+  private int lastTick = -1; //frame clock bookkeeping for the ticks/s readout
+  private long lastTime;
+  private double ticksPerSecond;
+
+  //---CONSTRUCTORS---//
+  public LiveViewer(String title, HeadlessEngine engine, int tickLimit, int initialSpeed) {
+    super(title);
+    this.engine = engine;
+    this.tickLimit = tickLimit;
+    ArrayList<Bot> bots = engine.getBots();
+    int[] teams = new int[bots.size()];
+    boolean[] mainBots = new boolean[teams.length];
+    double[] radii = new double[teams.length];
+    for (int i = 0; i < teams.length; i++) {
+      teams[i] = bots.get(i).getTeam();
+      mainBots[i] = engine.isMainBot(i);
+      radii[i] = bots.get(i).getRadius();
+    }
+    arena = new ArenaPanel(engine.getWorldWidth(), engine.getWorldHeight(), engine.getMatchConfig().getBulletRadius(), teams, mainBots, radii,
+                           ArenaPanel.avatarsOf(engine.getMatchConfig(), teams, mainBots)) {
+      public void paintComponent(Graphics g) {
+        try (WorldSnapshot world = LiveViewer.this.engine.acquireSnapshot()) {
+          paintState(g, world);
+        }
+      }
+    };
+    status = new JLabel();
+    play = new JButton("Pause");
+    final JComboBox<String> speeds = new JComboBox<String>(SPEED_NAMES);
+    speed = initialSpeed;
+    for (int i = 0; i < SPEEDS.length; i++) if (SPEEDS[i] == initialSpeed) speeds.setSelectedIndex(i);
+    speeds.addActionListener(new ActionListener() {
+      public void actionPerformed(ActionEvent e) { speed = SPEEDS[speeds.getSelectedIndex()]; }
+    });
+    play.addActionListener(new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        synchronized (pauseLock) {
+          paused = !paused;
+          pauseLock.notifyAll();
+        }
+        play.setText(paused ? "Play" : "Pause");
+      }
+    });
+    frameClock = new Timer(FRAME_PERIOD, new ActionListener() {
+      public void actionPerformed(ActionEvent e) { showLatest(); }
+    });
+    simulation = new Thread(new Runnable() {
+      public void run() { simulate(); }
+    }, "LiveViewer simulation");
+    simulation.setDaemon(true);
+
+    JPanel controls = new JPanel(new BorderLayout());
+    JPanel buttons = new JPanel();
+    buttons.add(play);
+    buttons.add(speeds);
+    controls.add(buttons, BorderLayout.WEST);
+    controls.add(status, BorderLayout.CENTER);
+    getContentPane().add(arena, BorderLayout.CENTER);
+    getContentPane().add(controls, BorderLayout.SOUTH);
+    addWindowListener(new WindowAdapter() {
+      public void windowClosed(WindowEvent e) {
+        frameClock.stop();
+        synchronized (pauseLock) {
+          closed = true;
+          pauseLock.notifyAll();
+        }
+      }
+    });
+    setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+  }
+
+  //---SIMULATION-THREAD---//
+  public void start() {
+    engine.enableSnapshots();
+    simulation.start();
+    frameClock.start();
+  }
+  private void simulate() {
+    engine.startSimulation();
+    long next = System.nanoTime();
+    while (!closed && !engine.isOver() && engine.getTick() < tickLimit) {
+      if (paused) {
+        synchronized (pauseLock) {
+          while (paused && !closed) {
+            try {
+              pauseLock.wait();
+            } catch (InterruptedException e) {
+              return;
+            }
+          }
+        }
+        next = System.nanoTime();
+        continue;
+      }
+      engine.step();
+      int ticksPerPeriod = speed;
+      if (ticksPerPeriod == 0) continue;
+      next += TICK_PERIOD / ticksPerPeriod;
+      long wait = next - System.nanoTime();
+      if (wait > 0) LockSupport.parkNanos(wait);
+      else if (wait < -MAX_LAG) next = System.nanoTime();
+    }
+    result = engine.getResult();
+  }
+
+  //---FRAME-CLOCK---//
+  private void showLatest() {
+    MatchResult over = result; //read first: once set, the snapshot below is the final one
+    int tick;
+    try (WorldSnapshot world = engine.acquireSnapshot()) {
+      if (world == null) return;
+      tick = world.getTick();
+    }
+    if (tick == lastTick && over == null) return;
+    long now = System.nanoTime();
+    if (lastTime != 0 && now - lastTime > 0) ticksPerSecond = 0.9 * ticksPerSecond + 0.1 * (tick - lastTick) * 1e9 / (now - lastTime);
+    lastTick = tick;
+    lastTime = now;
+    arena.repaint();
+    if (over != null) {
+      status.setText(" " + over);
+      play.setEnabled(false);
+      frameClock.stop();
+    } else status.setText(" tick " + tick + " (" + (long)ticksPerSecond + " ticks/s)");
+  }
+
+  //---ENTRY-POINT---//
+  public static void main(String[] args) {
+    long seed = MatchConfig.DEFAULT.getSeed();
+    int tickLimit = HeadlessEngine.DEFAULT_TICK_LIMIT, initialSpeed = 1;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-seed": seed = Long.parseLong(args[i + 1]); break;
+        case "-ticks": tickLimit = Integer.parseInt(args[i + 1]); break;
+        case "-speed": initialSpeed = Integer.parseInt(args[i + 1]); break; //1, 10, 100, or 0 for unlimited
+        default: System.err.println("Unknown option " + args[i] + "."); return;
+      }
+    }
+    final HeadlessEngine engine = new HeadlessEngine(MatchConfig.DEFAULT.withSeed(seed));
+    final String title = "Live - seed " + seed;
+    final int limit = tickLimit, pace = initialSpeed;
+    SwingUtilities.invokeLater(new Runnable() {
+      public void run() {
+        LiveViewer viewer = new LiveViewer(title, engine, limit, pace);
+        viewer.pack();
+        viewer.setVisible(true);
+        viewer.start();
+      }
+    });
+  }
+}
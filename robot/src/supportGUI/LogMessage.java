@@ -0,0 +1,79 @@
+/* ******************************************************
+ * Simovies - Eurobot 2015 Robomovies Simulator.
+ * Copyright (C) 2014 <Binh-Minh.Bui-Xuan@ens-lyon.org>.
+ * GPL version>=3 <http://www.gnu.org/licenses/>.
+ * ******************************************************/
+package supportGUI;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+
+import robotsimulator.BotContext;
+import robotsimulator.SimulatorEngine;
+
+/**
+ * Log panel: the latest message of every bot, team A on the left, team B on the right.
+ * Messages are read from the bots at most every REFRESH_PERIOD ns, however often the panel repaints in
+ * between; a message sent with Brain.sendLogMessage(Supplier) is only built at that moment, so a brain
+ * logging every step costs one string per refresh instead of one per step.
+ */
+public class LogMessage extends javax.swing.JPanel {
+  //---HARD-CODED-PARAMETERS---//
+  private static final long serialVersionUID = 1L;
+  private static final double charFactor = 0.1175;
+  private static final double charControlFactor = 0.01275;
+  private static final long REFRESH_PERIOD = 200000000L; //ns
+  private static final String[] LABELS = {"A main 1: ", "B main 1: ", "A main 2: ", "B main 2: ", "A main 3: ", "B main 3: ",
+                                          "A secondary 1: ", "B secondary 1: ", "A secondary 2: ", "B secondary 2: "};
+  private static final int[] BOTS = {0, 3, 1, 4, 2, 5, 6, 8, 7, 9}; //index in SimulatorEngine.getBots() of each label
+
+  //---VARIABLES---//
+  private Graphics2D g2d;
+  private SimulatorEngine engine;
+  private int charSize, lineSize, indentSize;
+  private final String[] lines;
+  private long lastRefresh; //System.nanoTime() of the last refresh, meaningless until refreshed
+  private boolean refreshed;
+
+  //---CONSTRUCTORS---//
+  protected LogMessage() {
+    lines = new String[LABELS.length];
+    for (int i = 0; i < lines.length; i++) lines[i] = LABELS[i] + "null";
+    addComponentListener(new ComponentListener() {
+      public void componentHidden(ComponentEvent e) {}
+      public void componentMoved(ComponentEvent e) {}
+      public void componentShown(ComponentEvent e) {}
+      public void componentResized(ComponentEvent e) { resetSize(getWidth(), getHeight()); }
+    });
+  }
+
+  //---METHODS---//
+  protected void bind(SimulatorEngine engine) { this.engine = engine; }
+  protected void start(int width, int height) { resetSize(width, height); }
+  private void resetSize(int width, int height) {
+    setPreferredSize(new Dimension(width, height));
+    charSize = (int)Math.min(charFactor * height, charControlFactor * width);
+    lineSize = (int)(1.1 * charSize);
+    indentSize = (int)(1.1 * lineSize);
+    repaint();
+  }
+  private void refresh() {
+    long now = System.nanoTime();
+    if (refreshed && now - lastRefresh < REFRESH_PERIOD) return;
+    refreshed = true;
+    lastRefresh = now;
+    for (int i = 0; i < lines.length; i++)
+      lines[i] = LABELS[i] + BotContext.resolveLogMessage(engine.getBots().get(BOTS[i]).getLogMessage());
+  }
+  public void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    g2d = (Graphics2D)g.create();
+    g2d.setFont(new Font(g2d.getFont().getName(), Font.BOLD, charSize));
+    if (engine != null) refresh();
+    for (int i = 0; i < lines.length; i++) g2d.drawString(lines[i], 5 + (i % 2) * getWidth() / 2, (i / 2 + 1) * lineSize);
+  }
+}
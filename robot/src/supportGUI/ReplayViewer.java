@@ -0,0 +1,179 @@
+package supportGUI;
+
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import characteristics.MatchConfig;
+import robotsimulator.ArenaState;
+import robotsimulator.ReplayCursor;
+import robotsimulator.ReplayReader;
+
+/**
+ * Playback window for match replays recorded with -record.
+ * The slider seeks to any tick, forward or backward; the timer runs at the 10 ms period of the live viewer and
+ * advances 1 to 50 ticks per period. Arrow keys step one tick while paused.
+ */
+public class ReplayViewer extends JFrame {
+  //---HARD-CODED-PARAMETERS---//
+  private static final long serialVersionUID = 1L;
+  private static final int PERIOD = 10; //ms, one tick per period at 1x as in Viewer
+  private static final Integer[] SPEEDS = {1, 2, 5, 10, 20, 50};
+
+  //---VARIABLES---//
+  private final ReplayCursor cursor;
+  private final ArenaPanel arena;
+  private final JSlider slider;
+  private final JLabel status;
+  private final JButton play;
+  private final JComboBox<Integer> speed;
+  private final Timer timer;
+  private boolean seeking; //slider updates coming from playback rather than the user
+
+  //---CONSTRUCTORS---//
+  public ReplayViewer(String title, ReplayReader replay) {
+    super(title);
+    cursor = new ReplayCursor(replay);
+    int[] teams = new int[replay.getBotCount()];
+    boolean[] mainBots = new boolean[teams.length];
+    double[] radii = new double[teams.length];
+    for (int i = 0; i < teams.length; i++) {
+      teams[i] = replay.getBotTeam(i);
+      mainBots[i] = replay.isMainBot(i);
+      radii[i] = replay.getBotRadius(i);
+    }
+    arena = new ArenaPanel(replay.getArenaWidth(), replay.getArenaHeight(), replay.getBulletRadius(), teams, mainBots, radii,
+                           ArenaPanel.avatarsOf(MatchConfig.DEFAULT, teams, mainBots)) { //replays do not record avatars
+      protected String getBotLabel(ArenaState frame, int bot) {
+        return super.getBotLabel(frame, bot) + ", " + cursor.getShots(bot) + " shots, " + cursor.getMessages(bot) + " msgs";
+      }
+    };
+    slider = new JSlider(0, cursor.getLastTick(), 0);
+    status = new JLabel();
+    play = new JButton("Play");
+    speed = new JComboBox<Integer>(SPEEDS);
+    timer = new Timer(PERIOD, new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        seek(cursor.getTick() + (Integer)speed.getSelectedItem());
+        if (cursor.getTick() == cursor.getLastTick()) pause();
+      }
+    });
+
+    JButton back = new JButton("<"), forward = new JButton(">");
+    back.addActionListener(new ActionListener() {
+      public void actionPerformed(ActionEvent e) { seek(cursor.getTick() - 1); }
+    });
+    forward.addActionListener(new ActionListener() {
+      public void actionPerformed(ActionEvent e) { seek(cursor.getTick() + 1); }
+    });
+    play.addActionListener(new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        if (timer.isRunning()) pause();
+        else {
+          if (cursor.getTick() == cursor.getLastTick()) seek(0);
+          timer.start();
+          play.setText("Pause");
+        }
+      }
+    });
+    slider.addChangeListener(new ChangeListener() {
+      public void stateChanged(ChangeEvent e) { if (!seeking) seek(slider.getValue()); }
+    });
+    speed.setSelectedIndex(0);
+    speed.setFocusable(false);
+    slider.setFocusable(false);
+
+    JPanel controls = new JPanel(new BorderLayout());
+    JPanel buttons = new JPanel();
+    buttons.add(back);
+    buttons.add(play);
+    buttons.add(forward);
+    buttons.add(speed);
+    buttons.add(new JLabel("x"));
+    controls.add(buttons, BorderLayout.WEST);
+    controls.add(slider, BorderLayout.CENTER);
+    controls.add(status, BorderLayout.EAST);
+    getContentPane().add(arena, BorderLayout.CENTER);
+    getContentPane().add(controls, BorderLayout.SOUTH);
+
+    arena.setFocusable(true);
+    arena.addKeyListener(new KeyAdapter() {
+      public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+          case KeyEvent.VK_LEFT: seek(cursor.getTick() - 1); break;
+          case KeyEvent.VK_RIGHT: seek(cursor.getTick() + 1); break;
+          case KeyEvent.VK_SPACE: play.doClick(); break;
+          default: break;
+        }
+      }
+    });
+    addWindowListener(new WindowAdapter() {
+      public void windowClosed(WindowEvent e) {
+        timer.stop();
+        try {
+          cursor.getReplay().close();
+        } catch (IOException ex) {
+          //nothing left to do with the file
+        }
+      }
+    });
+    setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    seek(0);
+  }
+
+  //---PLAYBACK---//
+  private void seek(int tick) {
+    cursor.seek(tick);
+    seeking = true;
+    slider.setValue(cursor.getTick());
+    seeking = false;
+    status.setText(" tick " + cursor.getTick() + "/" + cursor.getLastTick() + " ");
+    arena.setState(cursor.getFrame());
+  }
+  private void pause() {
+    timer.stop();
+    play.setText("Play");
+  }
+
+  //---ENTRY-POINT---//
+  public static void main(final String[] args) {
+    SwingUtilities.invokeLater(new Runnable() {
+      public void run() {
+        File file;
+        if (args.length > 0) file = new File(args[0]);
+        else {
+          JFileChooser chooser = new JFileChooser(".");
+          if (chooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) return;
+          file = chooser.getSelectedFile();
+        }
+        try {
+          ReplayViewer viewer = new ReplayViewer("Replay - " + file.getName(), new ReplayReader(Paths.get(file.getPath())));
+          viewer.pack();
+          viewer.setVisible(true);
+        } catch (IOException e) {
+          JOptionPane.showMessageDialog(null, e.getMessage(), "Replay", JOptionPane.ERROR_MESSAGE);
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,130 @@
+package supportGUI;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Avatars pre-rendered at the current zoom, one image per heading step.
+ * Bots only ever turn by their step turn angle of 0.01 PI, so headings are quantized to 200 steps per turn and
+ * each (avatar, size, step) sprite is scaled and rotated once, into an image compatible with the screen that
+ * the pipeline can keep in video memory. Painting a bot is then a plain blit. Sprites of an avatar are dropped
+ * when its displayed size changes, and everything is dropped when the cache outgrows its memory budget.
+ */
+class SpriteCache {
+  //---HARD-CODED-PARAMETERS---//
+  private static final int STEPS = 200; //headings per turn: 2 PI / 0.01 PI
+  private static final double STEP = 2 * Math.PI / STEPS;
+  private static final long PIXEL_BUDGET = 16L << 20; //64 MB of ARGB sprites
+
+  //---VARIABLES---//
+  private final HashMap<String, BufferedImage> raw; //decoded avatar files, null when unreadable
+  private final HashMap<String, Entry> entries;
+  private long pixels;
+
+  //---CONSTRUCTORS---//
+  SpriteCache() {
+    raw = new HashMap<String, BufferedImage>();
+    entries = new HashMap<String, Entry>();
+    pixels = 0;
+  }
+
+  //---SPRITES---//
+  /** Sprite of the avatar for a bot of the given on-screen diameter and heading, centered on its image; null if the avatar cannot be read. */
+  BufferedImage get(String avatar, int diameter, double heading) {
+    if (diameter < 1) return null;
+    Entry entry = entries.get(avatar);
+    if (entry == null || entry.diameter != diameter) {
+      BufferedImage source = load(avatar);
+      if (source == null) return null;
+      if (entry != null) pixels -= entry.pixels;
+      entry = new Entry(diameter, scale(source, diameter));
+      entries.put(avatar, entry);
+    }
+    int step = (int)Math.round(heading / STEP) % STEPS;
+    if (step < 0) step += STEPS;
+    if (entry.rotations[step] == null) {
+      int size = (int)Math.ceil(diameter * Math.sqrt(2)); //room for the corners at any angle
+      if (pixels + (long)size * size > PIXEL_BUDGET) {
+        clear();
+        entry = new Entry(diameter, entry.scaled);
+        entries.put(avatar, entry);
+      }
+      entry.rotations[step] = rotate(entry.scaled, size, step * STEP + Math.PI / 2); //avatars face up, heading 0 points east
+      entry.pixels += (long)size * size;
+      pixels += (long)size * size;
+    }
+    return entry.rotations[step];
+  }
+  void clear() {
+    entries.clear();
+    pixels = 0;
+  }
+  private BufferedImage load(String avatar) {
+    if (raw.containsKey(avatar)) return raw.get(avatar);
+    BufferedImage image = null;
+    try {
+      image = ImageIO.read(new File(avatar));
+    } catch (IOException e) {
+      System.err.println("Exception: failure reading image file " + avatar + ".");
+    }
+    raw.put(avatar, image);
+    return image;
+  }
+
+  //---RENDERING---//
+  private static BufferedImage scale(BufferedImage source, int diameter) { //fit in a diameter-wide square, keeping the aspect ratio
+    double factor = (double)diameter / Math.max(source.getWidth(), source.getHeight());
+    int width = Math.max(1, (int)Math.round(source.getWidth() * factor)), height = Math.max(1, (int)Math.round(source.getHeight() * factor));
+    BufferedImage current = source;
+    int w = source.getWidth(), h = source.getHeight();
+    do { //halve at most per pass: a single bilinear pass from a 100 KB avatar down to a few pixels aliases badly
+      w = Math.max(width, w / 2);
+      h = Math.max(height, h / 2);
+      BufferedImage next = compatible(w, h);
+      Graphics2D g = next.createGraphics();
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.drawImage(current, 0, 0, w, h, null);
+      g.dispose();
+      current = next;
+    } while (w != width || h != height);
+    return current;
+  }
+  private static BufferedImage rotate(BufferedImage scaled, int size, double angle) {
+    BufferedImage sprite = compatible(size, size);
+    Graphics2D g = sprite.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    g.rotate(angle, size / 2.0, size / 2.0);
+    g.drawImage(scaled, (size - scaled.getWidth()) / 2, (size - scaled.getHeight()) / 2, null);
+    g.dispose();
+    return sprite;
+  }
+  private static BufferedImage compatible(int width, int height) {
+    if (GraphicsEnvironment.isHeadless()) return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    GraphicsConfiguration screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    return screen.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+  }
+
+  //---ENTRIES---//
+  private static class Entry {
+    final int diameter;
+    final BufferedImage scaled;
+    final BufferedImage[] rotations;
+    long pixels;
+    Entry(int diameter, BufferedImage scaled) {
+      this.diameter = diameter;
+      this.scaled = scaled;
+      this.rotations = new BufferedImage[STEPS];
+      this.pixels = 0;
+    }
+  }
+}